@@ -0,0 +1,61 @@
+package benchmarks;
+
+import domain.builder.CustomPizza;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomPizzaBenchmark {
+
+    private final CustomPizza.PizzaBuilder builder = new CustomPizza.PizzaBuilder();
+
+    @Setup
+    public void setUp() {
+        Quiet.silence();
+    }
+
+    @Benchmark
+    public CustomPizza buildFromEnums() {
+        return builder.reset()
+                .setSize(CustomPizza.Size.LARGE)
+                .setCrustType(CustomPizza.Crust.THIN)
+                .addExtraCheese()
+                .addExtraPepperoni()
+                .build();
+    }
+
+    @Benchmark
+    public CustomPizza buildFromStrings() {
+        return builder.reset()
+                .setSize("Large")
+                .setCrustType("Thin")
+                .addExtraCheese()
+                .addExtraPepperoni()
+                .build();
+    }
+
+    @Benchmark
+    public CustomPizza buildWithFreshBuilder() {
+        return new CustomPizza.PizzaBuilder()
+                .setSize("Large")
+                .setCrustType("Thin")
+                .addExtraCheese()
+                .addExtraPepperoni()
+                .build();
+    }
+}
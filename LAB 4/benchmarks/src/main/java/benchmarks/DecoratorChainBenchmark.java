@@ -0,0 +1,78 @@
+package benchmarks;
+
+import domain.Margherita;
+import domain.Pizza;
+import domain.decorators.ExtraCheese;
+import domain.decorators.ExtraOlives;
+import domain.decorators.StuffedCrust;
+import domain.decorators.ToppedPizza;
+import domain.factory.PizzaFactory;
+import domain.order.Topping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecoratorChainBenchmark {
+
+    private static final Topping[] CYCLE = { Topping.CHEESE, Topping.OLIVES, Topping.STUFFED_CRUST };
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int depth;
+
+    private Topping[] toppings;
+    private Pizza base;
+
+    @Setup
+    public void setUp() {
+        Quiet.silence();
+        toppings = new Topping[depth];
+        for (int i = 0; i < depth; i++) {
+            toppings[i] = CYCLE[i % CYCLE.length];
+        }
+        base = new Margherita();
+    }
+
+    @Benchmark
+    public Pizza decoratorChain() {
+        Pizza pizza = base;
+        for (Topping topping : toppings) {
+            switch (topping) {
+                case CHEESE: pizza = new ExtraCheese(pizza); break;
+                case OLIVES: pizza = new ExtraOlives(pizza); break;
+                default: pizza = new StuffedCrust(pizza); break;
+            }
+        }
+        pizza.prepare();
+        return pizza;
+    }
+
+    @Benchmark
+    public Pizza flattened() {
+        Pizza pizza = ToppedPizza.of(base, toppings);
+        pizza.prepare();
+        return pizza;
+    }
+
+    @Benchmark
+    public Pizza factoryCached() {
+        Pizza pizza = PizzaFactory.withToppings(base, toppings);
+        pizza.prepare();
+        return pizza;
+    }
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import domain.Pizza;
+import domain.facade.PizzeriaFacade;
+import domain.strategy.BikeDeliveryStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FacadeBenchmark {
+
+    private static final List<String> TOPPINGS = List.of("Cheese", "Olives");
+
+    private PizzeriaFacade facade;
+
+    @Setup
+    public void setUp() {
+        Quiet.silence();
+        facade = new PizzeriaFacade();
+        facade.setDeliveryStrategy(new BikeDeliveryStrategy());
+    }
+
+    @Benchmark
+    public Pizza orderSimple() {
+        return facade.orderSimple("Margherita");
+    }
+
+    @Benchmark
+    public Pizza orderWithToppings() {
+        return facade.orderWithToppings("Rancho", TOPPINGS);
+    }
+
+    @Benchmark
+    public Pizza orderCustom() {
+        return facade.orderCustom("Large", "Thin", true, true, false);
+    }
+}
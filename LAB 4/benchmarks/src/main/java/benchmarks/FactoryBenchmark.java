@@ -0,0 +1,47 @@
+package benchmarks;
+
+import domain.Pizza;
+import domain.factory.PizzaFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryBenchmark {
+
+    @Param({"Margherita", "Rancho", "Barbeque"})
+    public String type;
+
+    private int typeId;
+
+    @Setup
+    public void setUp() {
+        Quiet.silence();
+        typeId = PizzaFactory.getMenu().pizzaId(type);
+    }
+
+    @Benchmark
+    public Pizza createByName() {
+        return PizzaFactory.createPizza(type);
+    }
+
+    @Benchmark
+    public Pizza createById() {
+        return PizzaFactory.createPizza(typeId);
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import domain.command.CustomOrderCommand;
+import domain.command.OrderCommand;
+import domain.command.OrderInvoker;
+import domain.command.SimpleOrderCommand;
+import domain.command.ToppingsOrderCommand;
+import domain.facade.PizzeriaFacade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokerBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int batchSize;
+
+    private final OrderInvoker invoker = new OrderInvoker();
+    private OrderCommand[] commands;
+
+    @Setup
+    public void setUp() {
+        Quiet.silence();
+        PizzeriaFacade facade = new PizzeriaFacade();
+        OrderCommand[] mix = {
+                new SimpleOrderCommand(facade, "Margherita"),
+                new ToppingsOrderCommand(facade, "Rancho", List.of("Cheese", "Olives")),
+                new CustomOrderCommand(facade, "Large", "Thin", true, true, false)
+        };
+        commands = new OrderCommand[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            commands[i] = mix[i % mix.length];
+        }
+    }
+
+    // Reported per batch; divide by batchSize for the per-command cost.
+    @Benchmark
+    public OrderInvoker processBatch() {
+        for (OrderCommand command : commands) {
+            invoker.addCommand(command);
+        }
+        invoker.processCommands();
+        return invoker;
+    }
+}
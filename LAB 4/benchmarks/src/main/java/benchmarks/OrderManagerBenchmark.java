@@ -0,0 +1,93 @@
+package benchmarks;
+
+import domain.Pizza;
+import domain.Rancho;
+import domain.factory.PizzaFactory;
+import domain.observer.OrderObserver;
+import domain.order.DeliveryMode;
+import domain.order.OrderEvent;
+import domain.order.Topping;
+import domain.singleton.OrderManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// OrderManager is a process-wide singleton: the observers registered for a
+// run are removed again in tearDown, and each parameter combination still
+// forks so the orders stored by earlier runs do not skew later ones.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderManagerBenchmark {
+
+    @Param({"0", "1", "4", "16"})
+    public int observers;
+
+    private final List<OrderObserver> registered = new ArrayList<>();
+    private OrderManager manager;
+    private Pizza simple;
+    private Pizza topped;
+
+    @Setup
+    public void setUp() {
+        Quiet.silence();
+        manager = OrderManager.getInstance();
+        for (int i = 0; i < observers; i++) {
+            OrderObserver observer = new CountingObserver();
+            manager.addObserver(observer);
+            registered.add(observer);
+        }
+        simple = PizzaFactory.createPizza("Margherita");
+        topped = PizzaFactory.withToppings(new Rancho(), Topping.CHEESE, Topping.OLIVES);
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (OrderObserver observer : registered) {
+            manager.removeObserver(observer);
+        }
+        registered.clear();
+    }
+
+    @Benchmark
+    public long addSimpleOrder() {
+        manager.addOrder(simple);
+        return manager.getOrderCount();
+    }
+
+    @Benchmark
+    public long addToppedOrder() {
+        manager.addOrder(topped, DeliveryMode.BIKE);
+        return manager.getOrderCount();
+    }
+
+    static final class CountingObserver implements OrderObserver {
+        long seen;
+
+        @Override
+        public void onOrder(OrderEvent event) {
+            seen += event.getTypeId() + event.getToppingMask();
+        }
+
+        @Override
+        public void onOrderAdded(String orderName) {
+            seen += orderName.length();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package benchmarks;
+
+import domain.events.Events;
+
+final class Quiet {
+
+    private Quiet() {
+    }
+
+    // Console output would dominate every measurement in this module.
+    static void silence() {
+        Events.disable();
+    }
+}
@@ -0,0 +1,81 @@
+import domain.Margherita;
+import domain.Pizza;
+import domain.decorators.ExtraCheese;
+import domain.decorators.ExtraOlives;
+import domain.decorators.StuffedCrust;
+import domain.decorators.ToppedPizza;
+import domain.events.EventLevel;
+import domain.events.Events;
+import domain.order.Topping;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DecoratorBenchmark {
+
+    private static final int ITERATIONS = 2_000_000;
+    private static final Topping[] CYCLE = { Topping.CHEESE, Topping.OLIVES, Topping.STUFFED_CRUST };
+
+    public static void main(String[] args) {
+        Events.disable();
+
+        List<String> results = new ArrayList<>();
+        for (int depth = 1; depth <= 16; depth *= 2) {
+            Topping[] toppings = new Topping[depth];
+            for (int i = 0; i < depth; i++) {
+                toppings[i] = CYCLE[i % CYCLE.length];
+            }
+
+            int[] chainDepth = new int[1];
+            int[] flatDepth = new int[1];
+            decorate(new DepthProbe(chainDepth), toppings).prepare();
+            ToppedPizza.of(new DepthProbe(flatDepth), toppings).prepare();
+
+            long chainNanos = time(() -> decorate(new Margherita(), toppings).prepare());
+            long flatNanos = time(() -> ToppedPizza.of(new Margherita(), toppings).prepare());
+
+            results.add(String.format("depth %2d | call depth %3d -> %3d | decorators %,10.0f ops/s | flat %,10.0f ops/s",
+                    depth, chainDepth[0], flatDepth[0],
+                    ITERATIONS * 1e9 / chainNanos, ITERATIONS * 1e9 / flatNanos));
+        }
+
+        Events.setLevel(EventLevel.DEBUG);
+        System.out.println("=== Decorator chain vs flattened toppings ===");
+        results.forEach(System.out::println);
+    }
+
+    private static Pizza decorate(Pizza pizza, Topping[] toppings) {
+        for (Topping topping : toppings) {
+            switch (topping) {
+                case CHEESE: pizza = new ExtraCheese(pizza); break;
+                case OLIVES: pizza = new ExtraOlives(pizza); break;
+                default: pizza = new StuffedCrust(pizza); break;
+            }
+        }
+        return pizza;
+    }
+
+    private static long time(Runnable order) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            order.run();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            order.run();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static class DepthProbe extends Margherita {
+        private final int[] depth;
+
+        DepthProbe(int[] depth) {
+            this.depth = depth;
+        }
+
+        @Override
+        public void prepare() {
+            depth[0] = new Throwable().getStackTrace().length;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+import domain.events.EventLevel;
+import domain.events.Events;
+import domain.order.DeliveryMode;
+import domain.simulation.KitchenSimulation;
+import domain.strategy.BikeDeliveryStrategy;
+import domain.strategy.CarDeliveryStrategy;
+import domain.strategy.PickupStrategy;
+import domain.utilities.LegacyOven;
+import domain.utilities.LegacyOvenAdapter;
+import domain.workload.ArrivalProcess;
+import domain.workload.OrderRequest;
+import domain.workload.WorkloadGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Usage: KitchenCapacity [ordersPerHour] [hoursOpen] [maxOvens]
+// Simulates the same day with 1..maxOvens ovens and compares wait times.
+public class KitchenCapacity {
+
+    public static void main(String[] args) {
+        double perHour = args.length > 0 ? Double.parseDouble(args[0]) : 120;
+        int hours = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int maxOvens = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        // One rush hour in every four at twice the average rate.
+        List<OrderRequest> day = new WorkloadGenerator(7)
+                .arrivals(ArrivalProcess.bursty(perHour * 2 / 3 / 3600, perHour * 2 / 3600, 4 * 3_600_000L, 1.0 / 4))
+                .generate(hours * 3_600_000L);
+
+        List<String> results = new ArrayList<>();
+        Events.disable();
+        for (int count = 1; count <= maxOvens; count++) {
+            KitchenSimulation simulation = new KitchenSimulation(11)
+                    .prepStations(8)
+                    .couriers(16)
+                    .tripMinutes(DeliveryMode.BIKE, 12)
+                    .tripMinutes(DeliveryMode.CAR, 10)
+                    .addDelivery(new PickupStrategy(), 3)
+                    .addDelivery(new BikeDeliveryStrategy(), 4)
+                    .addDelivery(new CarDeliveryStrategy(), 3);
+            for (int i = 0; i < count; i++) {
+                simulation.addOven(new LegacyOvenAdapter(new LegacyOven(), 12));
+            }
+            results.add("--- " + count + " oven(s) ---\n" + simulation.run(day));
+        }
+        Events.setLevel(EventLevel.DEBUG);
+
+        System.out.printf("=== Kitchen capacity: %,d orders, %.0f/hour average, %d hours ===%n",
+                day.size(), perHour, hours);
+        results.forEach(System.out::print);
+    }
+}
@@ -0,0 +1,69 @@
+import domain.factory.MenuRegistry;
+import domain.factory.PizzaFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class MenuReloadBenchmark {
+
+    private static final int RELOADS = 500;
+    private static final int SAMPLES = 1_000_000;
+    private static final String[] NAMES = { "Margherita", "RANCHO", "barbeque", "Seasonal" };
+
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("menu", ".properties");
+        Files.writeString(file, String.join("\n",
+                "pizza.margherita=domain.Margherita",
+                "pizza.rancho=domain.Rancho",
+                "pizza.barbeque=domain.Barbeque",
+                "pizza.seasonal=domain.Rancho",
+                "topping.cheese=CHEESE",
+                "topping.olives=OLIVES",
+                "topping.stuffed=STUFFED_CRUST"));
+
+        PizzaFactory.reloadMenu(file);
+        System.out.println("=== Menu lookup latency ===");
+        System.out.println("idle:      " + measureLookups());
+
+        long[] reloadNanos = new long[RELOADS];
+        Thread reloader = new Thread(() -> {
+            try {
+                for (int i = 0; i < RELOADS; i++) {
+                    PizzaFactory.reloadMenu(file);
+                    reloadNanos[i] = PizzaFactory.getLastReloadNanos();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        reloader.start();
+        System.out.println("reloading: " + measureLookups());
+        reloader.join();
+
+        Arrays.sort(reloadNanos);
+        System.out.printf("reload cost: p50 %d us, p99 %d us%n",
+                reloadNanos[RELOADS / 2] / 1_000, reloadNanos[RELOADS * 99 / 100] / 1_000);
+
+        PizzaFactory.setMenu(MenuRegistry.standard());
+        Files.delete(file);
+    }
+
+    private static String measureLookups() {
+        long[] latencies = new long[SAMPLES];
+        int misses = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            long begin = System.nanoTime();
+            if (PizzaFactory.getMenu().findPizza(NAMES[i & 3]) == null) {
+                misses++;
+            }
+            latencies[i] = System.nanoTime() - begin;
+        }
+
+        Arrays.sort(latencies);
+        return String.format("p50 %d ns, p99 %d ns, p99.9 %d ns, max %d ns (%d misses)",
+                latencies[SAMPLES / 2], latencies[SAMPLES * 99 / 100], latencies[SAMPLES * 999 / 1000],
+                latencies[SAMPLES - 1], misses);
+    }
+}
@@ -0,0 +1,83 @@
+import domain.Margherita;
+import domain.Pizza;
+import domain.events.EventLevel;
+import domain.events.Events;
+import domain.singleton.OrderManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class OrderIntakeBenchmark {
+
+    private static final int ORDERS_PER_THREAD = 200_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0
+                ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+
+        OrderManager manager = OrderManager.getInstance();
+        Pizza pizza = new Margherita();
+
+        Events.disable();
+
+        // Warmup round at full width so JIT compilation is not billed to the
+        // first measured point.
+        run(manager, pizza, maxThreads);
+
+        List<String> results = new ArrayList<>();
+        for (int threads : threadCounts(maxThreads)) {
+            long before = manager.getOrderCount();
+            long elapsed = run(manager, pizza, threads);
+            long added = manager.getOrderCount() - before;
+
+            long expected = (long) threads * ORDERS_PER_THREAD;
+            double opsPerSec = added * 1_000_000_000.0 / elapsed;
+            results.add(String.format("%2d threads: %,12.0f orders/s%s",
+                    threads, opsPerSec, added == expected ? "" : "  (LOST " + (expected - added) + ")"));
+        }
+
+        Events.setLevel(EventLevel.DEBUG);
+        System.out.println("=== OrderManager contention benchmark ===");
+        results.forEach(System.out::println);
+    }
+
+    // Powers of two below the requested count, then the count itself.
+    private static List<Integer> threadCounts(int maxThreads) {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + maxThreads);
+        }
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(maxThreads);
+        return counts;
+    }
+
+    private static long run(OrderManager manager, Pizza pizza, int threads) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int n = 0; n < ORDERS_PER_THREAD; n++) {
+                        manager.addOrder(pizza);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - begin;
+    }
+}
@@ -0,0 +1,68 @@
+import domain.command.OrderInvoker;
+import domain.events.EventLevel;
+import domain.events.Events;
+import domain.facade.PizzeriaFacade;
+import domain.workload.ArrivalProcess;
+import domain.workload.LoadHarness;
+import domain.workload.LoadReport;
+import domain.workload.OrderRequest;
+import domain.workload.OrderTrace;
+import domain.workload.WorkloadGenerator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Usage: PeakHourLoad [ordersPerSecond] [seconds] [workers] [trace.csv]
+// With a trace file, replays it at 1x and 4x instead of generating load.
+public class PeakHourLoad {
+
+    private static final long P99_OBJECTIVE_NANOS = 5_000_000;
+
+    public static void main(String[] args) throws Exception {
+        double rate = args.length > 0 ? Double.parseDouble(args[0]) : 20_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Path trace = args.length > 3 ? Paths.get(args[3]) : null;
+
+        LoadHarness harness = new LoadHarness(new OrderInvoker(), new PizzeriaFacade(), workers);
+        List<String> results = new ArrayList<>();
+
+        Events.disable();
+        if (trace != null) {
+            List<OrderRequest> schedule = OrderTrace.read(trace);
+            results.add("replay 1x  | " + harness.run(schedule, 1.0));
+            results.add("replay 4x  | " + harness.run(schedule, 4.0));
+        } else {
+            WorkloadGenerator generator = new WorkloadGenerator(42);
+            // Warm-up so the first reported run is not measuring the JIT.
+            harness.run(generator.arrivals(ArrivalProcess.poisson(rate)).generate(1000));
+
+            List<OrderRequest> steady = generator.arrivals(ArrivalProcess.poisson(rate)).generate(seconds * 1000L);
+            results.add("poisson    | " + harness.run(steady));
+
+            List<OrderRequest> rush = generator
+                    .arrivals(ArrivalProcess.bursty(rate / 2, rate * 3, 500, 0.2))
+                    .generate(seconds * 1000L);
+            results.add("bursty     | " + harness.run(rush));
+
+            Path recorded = Files.createTempFile("peak-hour", ".csv");
+            OrderTrace.write(recorded, rush);
+            results.add("replayed   | " + harness.run(OrderTrace.read(recorded)));
+            Files.delete(recorded);
+
+            List<LoadReport> steps = harness.findSaturation(generator, rate / 4, 2, 10, 1000, P99_OBJECTIVE_NANOS);
+            for (LoadReport step : steps) {
+                results.add("ramp       | " + step);
+            }
+            results.add(String.format("saturation | sustained up to %,.0f orders/s (p99 <= %,d us)",
+                    LoadReport.saturationPoint(steps, P99_OBJECTIVE_NANOS), P99_OBJECTIVE_NANOS / 1000));
+        }
+        Events.setLevel(EventLevel.DEBUG);
+
+        System.out.println("=== Peak-hour load (" + workers + " workers) ===");
+        results.forEach(System.out::println);
+    }
+}
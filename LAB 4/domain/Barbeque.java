@@ -1,24 +1,25 @@
 package domain;
 
+import domain.events.Events;
 
 public class Barbeque implements Pizza {
     @Override
     public void prepare(){
-        System.out.println("Preparing Barbeque Pizza");
+        Events.debug("Pizza", "Preparing Barbeque Pizza");
     }
 
     @Override
     public void bake(){
-        System.out.println("Baking Barbeque Pizza at 220 degrees");
+        Events.debug("Pizza", "Baking Barbeque Pizza at 220 degrees");
     }
 
     @Override
     public void cut(){
-        System.out.println("Cutting Barbeque Pizza into 6 slices");
+        Events.debug("Pizza", "Cutting Barbeque Pizza into 6 slices");
     }
 
     @Override
     public void box(){
-        System.out.println("Boxing Barbeque Pizza");
+        Events.debug("Pizza", "Boxing Barbeque Pizza");
     }
 }
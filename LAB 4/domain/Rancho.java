@@ -1,24 +1,25 @@
 package domain;
 
+import domain.events.Events;
 
 public class Rancho implements Pizza {
     @Override
     public void prepare(){
-        System.out.println("Preparing Rancho Pizza");
+        Events.debug("Pizza", "Preparing Rancho Pizza");
     }
 
     @Override
     public void bake(){
-        System.out.println("Baking Rancho Pizza at 200 degrees");
+        Events.debug("Pizza", "Baking Rancho Pizza at 200 degrees");
     }
 
     @Override
     public void cut(){
-        System.out.println("Cutting Rancho Pizza into 8 slices");
+        Events.debug("Pizza", "Cutting Rancho Pizza into 8 slices");
     }
 
     @Override
     public void box(){
-        System.out.println("Boxing Rancho Pizza and preparing it for delivery");
+        Events.debug("Pizza", "Boxing Rancho Pizza and preparing it for delivery");
     }
 }
\ No newline at end of file
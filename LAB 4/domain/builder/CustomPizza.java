@@ -1,80 +1,250 @@
 package domain.builder;
 
-public class CustomPizza {
-    private String size;
-    private String crustType;
-    private boolean extraCheese;
-    private boolean extraMeat;
-    private boolean extraMushrooms;
-    private boolean extraPepperoni;
-    private boolean extraOlives;
-
-    private CustomPizza(PizzaBuilder builder) {
-        this.size = builder.size;
-        this.crustType = builder.crustType;
-        this.extraCheese = builder.extraCheese;
-        this.extraMeat = builder.extraMeat;
-        this.extraMushrooms = builder.extraMushrooms;
-        this.extraPepperoni = builder.extraPepperoni;
-        this.extraOlives = builder.extraOlives;
+import domain.Pizza;
+import domain.events.Events;
+import domain.order.Topping;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class CustomPizza implements Pizza {
+
+    public enum Size {
+        SMALL("Small", 4),
+        MEDIUM("Medium", 6),
+        LARGE("Large", 8);
+
+        private static final Size[] VALUES = values();
+
+        private final String displayName;
+        private final int slices;
+
+        Size(String displayName, int slices) {
+            this.displayName = displayName;
+            this.slices = slices;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public int getSlices() {
+            return slices;
+        }
+
+        // Exact name or display name, ignoring case. The builder used to take
+        // free text, so anything else is a warning and MEDIUM, not an error.
+        public static Size parse(String text) {
+            for (Size size : VALUES) {
+                if (size.name().equalsIgnoreCase(text) || size.displayName.equalsIgnoreCase(text)) {
+                    return size;
+                }
+            }
+            Events.warn("Pizza", "Unknown pizza size, using Medium: ", text);
+            return MEDIUM;
+        }
+    }
+
+    public enum Crust {
+        THIN("Thin Crust"),
+        REGULAR("Regular Crust"),
+        THICK("Thick Crust"),
+        STUFFED("Stuffed Crust");
+
+        private static final Crust[] VALUES = values();
+
+        private final String displayName;
+
+        Crust(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        // Same rules as Size.parse; unknown crusts become REGULAR.
+        public static Crust parse(String text) {
+            for (Crust crust : VALUES) {
+                if (crust.name().equalsIgnoreCase(text) || crust.displayName.equalsIgnoreCase(text)) {
+                    return crust;
+                }
+            }
+            Events.warn("Pizza", "Unknown crust type, using Regular Crust: ", text);
+            return REGULAR;
+        }
+    }
+
+    // Layout: the low TOPPING_BITS bits are the topping mask, bits 8-15 the
+    // crust ordinal and bits 16-23 the size ordinal; all other bits are zero.
+    private static final int CRUST_SHIFT = 8;
+    private static final int SIZE_SHIFT = 16;
+    private static final int TOPPING_BITS = Topping.values().length;
+    private static final int TOPPING_MASK = (1 << TOPPING_BITS) - 1;
+    private static final long VALID_BITS = (0xFFL << SIZE_SHIFT) | (0xFFL << CRUST_SHIFT) | TOPPING_MASK;
+
+    private static final AtomicReferenceArray<CustomPizza> internPool = new AtomicReferenceArray<>(
+            Size.VALUES.length * Crust.VALUES.length << TOPPING_BITS);
+
+    private final long code;
+    private final String label;
+
+    private CustomPizza(long code) {
+        this.code = code;
+        this.label = getSize().getDisplayName() + " " + getCrust().getDisplayName();
+    }
+
+    public static long encode(Size size, Crust crust, int toppingMask) {
+        return ((long) size.ordinal() << SIZE_SHIFT)
+                | ((long) crust.ordinal() << CRUST_SHIFT)
+                | (toppingMask & TOPPING_MASK);
+    }
+
+    // Identical configurations share one immutable instance.
+    public static CustomPizza intern(long code) {
+        int size = (int) (code >>> SIZE_SHIFT) & 0xFF;
+        int crust = (int) (code >>> CRUST_SHIFT) & 0xFF;
+        if ((code & ~VALID_BITS) != 0 || size >= Size.VALUES.length || crust >= Crust.VALUES.length) {
+            throw new IllegalArgumentException("Invalid custom pizza code: " + code);
+        }
+        int index = ((size * Crust.VALUES.length + crust) << TOPPING_BITS) | (int) (code & TOPPING_MASK);
+
+        CustomPizza pizza = internPool.get(index);
+        if (pizza == null) {
+            internPool.compareAndSet(index, null, new CustomPizza(code));
+            pizza = internPool.get(index);
+        }
+        return pizza;
+    }
+
+    public long getCode() {
+        return code;
+    }
+
+    public Size getSize() {
+        return Size.VALUES[(int) (code >>> SIZE_SHIFT) & 0xFF];
+    }
+
+    public Crust getCrust() {
+        return Crust.VALUES[(int) (code >>> CRUST_SHIFT) & 0xFF];
+    }
+
+    public int getToppingMask() {
+        return (int) (code & TOPPING_MASK);
+    }
+
+    public boolean hasTopping(Topping topping) {
+        return (code & topping.mask()) != 0;
+    }
+
+    @Override
+    public void prepare() {
+        Events.debug("Pizza", "Preparing ", label, " Custom Pizza");
+        int mask = getToppingMask();
+        for (Topping topping : Topping.values()) {
+            if ((mask & topping.mask()) != 0) {
+                Events.debug("Pizza", topping.getPrepareNote());
+            }
+        }
+    }
+
+    @Override
+    public void bake() {
+        Events.debug("Pizza", "Baking Custom Pizza at 220 degrees");
+    }
+
+    @Override
+    public void cut() {
+        Events.debug("Pizza", "Cutting Custom Pizza into ", getSize().getSlices(), " slices");
+    }
+
+    @Override
+    public void box() {
+        Events.debug("Pizza", "Boxing Custom Pizza");
     }
 
     public void displayPizza(){
-        System.out.println("Pizza Size: " + size);
-        System.out.println("Crust Type: " + crustType);
-        System.out.println("Extra Cheese: " + (extraCheese ? "Yes" : "No"));
-        System.out.println("Extra Meat: " + (extraMeat ? "Yes" : "No"));
-        System.out.println("Extra Mushrooms: " + (extraMushrooms ? "Yes" : "No"));
-        System.out.println("Extra Pepperoni: " + (extraPepperoni ? "Yes" : "No"));
-        System.out.println("Extra Olives: " + (extraOlives ? "Yes" : "No"));
+        Events.info("Pizza", "Pizza Size: ", getSize().getDisplayName());
+        Events.info("Pizza", "Crust Type: ", getCrust().getDisplayName());
+        Events.info("Pizza", "Extra Cheese: ", hasTopping(Topping.CHEESE) ? "Yes" : "No");
+        Events.info("Pizza", "Extra Meat: ", hasTopping(Topping.MEAT) ? "Yes" : "No");
+        Events.info("Pizza", "Extra Mushrooms: ", hasTopping(Topping.MUSHROOMS) ? "Yes" : "No");
+        Events.info("Pizza", "Extra Pepperoni: ", hasTopping(Topping.PEPPERONI) ? "Yes" : "No");
+        Events.info("Pizza", "Extra Olives: ", hasTopping(Topping.OLIVES) ? "Yes" : "No");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof CustomPizza && ((CustomPizza) other).code == code);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(code);
+    }
+
+    @Override
+    public String toString() {
+        return "CustomPizza[" + getSize().getDisplayName() + ", " + getCrust().getDisplayName()
+                + (getToppingMask() == 0 ? "" : ", " + Topping.describe(getToppingMask())) + "]";
     }
 
     public static class PizzaBuilder {
-        private String size;
-        private String crustType;
-        private boolean extraCheese;
-        private boolean extraMeat;
-    private boolean extraMushrooms;
-        private boolean extraPepperoni;
-        private boolean extraOlives;
+        private Size size = Size.MEDIUM;
+        private Crust crust = Crust.REGULAR;
+        private int toppingMask;
+
+        public PizzaBuilder reset() {
+            this.size = Size.MEDIUM;
+            this.crust = Crust.REGULAR;
+            this.toppingMask = 0;
+            return this;
+        }
 
         public PizzaBuilder setSize(String size) {
+            return setSize(Size.parse(size));
+        }
+
+        public PizzaBuilder setSize(Size size) {
             this.size = size;
             return this;
         }
 
         public PizzaBuilder setCrustType(String crustType) {
-            this.crustType = crustType;
+            return setCrustType(Crust.parse(crustType));
+        }
+
+        public PizzaBuilder setCrustType(Crust crust) {
+            this.crust = crust;
             return this;
         }
 
         public PizzaBuilder addExtraCheese() {
-            this.extraCheese = true;
-            return this;
+            return addTopping(Topping.CHEESE);
         }
 
         public PizzaBuilder addExtraMeat() {
-            this.extraMeat = true;
-            return this;
+            return addTopping(Topping.MEAT);
         }
 
         public PizzaBuilder addExtraMushrooms() {
-            this.extraMushrooms = true;
-            return this;
+            return addTopping(Topping.MUSHROOMS);
         }
 
         public PizzaBuilder addExtraPepperoni() {
-            this.extraPepperoni = true;
-            return this;
+            return addTopping(Topping.PEPPERONI);
         }
 
         public PizzaBuilder addExtraOlives() {
-            this.extraOlives = true;
+            return addTopping(Topping.OLIVES);
+        }
+
+        public PizzaBuilder addTopping(Topping topping) {
+            this.toppingMask |= topping.mask();
             return this;
         }
 
         public CustomPizza build() {
-            return new CustomPizza(this);
+            return intern(encode(size, crust, toppingMask));
         }
     }
 }
@@ -0,0 +1,57 @@
+package domain.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class CommandBatch {
+
+    private final List<OrderCommand> commands;
+    private final List<CompletableFuture<Void>> futures;
+
+    CommandBatch(List<OrderCommand> commands, List<CompletableFuture<Void>> futures) {
+        this.commands = commands;
+        this.futures = futures;
+    }
+
+    public List<CompletableFuture<Void>> getFutures() {
+        return Collections.unmodifiableList(futures);
+    }
+
+    public CompletableFuture<Void> allDone() {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, error) -> null);
+    }
+
+    public List<Failure> awaitFailures() {
+        List<Failure> failures = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).join();
+            } catch (CompletionException e) {
+                failures.add(new Failure(commands.get(i), e.getCause() != null ? e.getCause() : e));
+            }
+        }
+        return failures;
+    }
+
+    public static class Failure {
+        private final OrderCommand command;
+        private final Throwable cause;
+
+        Failure(OrderCommand command, Throwable cause) {
+            this.command = command;
+            this.cause = cause;
+        }
+
+        public OrderCommand getCommand() {
+            return command;
+        }
+
+        public Throwable getCause() {
+            return cause;
+        }
+    }
+}
@@ -10,6 +10,7 @@ public class CustomOrderCommand implements OrderCommand {
     private final boolean cheese;
     private final boolean pepperoni;
     private final boolean mushrooms;
+    private final Object orderingKey;
 
     public CustomOrderCommand(
             PizzeriaFacade facade,
@@ -18,6 +19,18 @@ public class CustomOrderCommand implements OrderCommand {
             boolean cheese,
             boolean pepperoni,
             boolean mushrooms
+    ) {
+        this(facade, size, crust, cheese, pepperoni, mushrooms, null);
+    }
+
+    public CustomOrderCommand(
+            PizzeriaFacade facade,
+            String size,
+            String crust,
+            boolean cheese,
+            boolean pepperoni,
+            boolean mushrooms,
+            Object orderingKey
     ) {
         this.facade = facade;
         this.size = size;
@@ -25,10 +38,16 @@ public class CustomOrderCommand implements OrderCommand {
         this.cheese = cheese;
         this.pepperoni = pepperoni;
         this.mushrooms = mushrooms;
+        this.orderingKey = orderingKey;
     }
 
     @Override
     public void execute() {
         facade.orderCustom(size, crust, cheese, pepperoni, mushrooms);
     }
+
+    @Override
+    public Object getOrderingKey() {
+        return orderingKey;
+    }
 }
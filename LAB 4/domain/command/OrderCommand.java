@@ -2,4 +2,8 @@ package domain.command;
 
 public interface OrderCommand {
     void execute();
+
+    default Object getOrderingKey() {
+        return null;
+    }
 }
@@ -1,24 +1,78 @@
 package domain.command;
 
+import domain.metrics.LatencyStage;
+import domain.metrics.Metrics;
+import domain.tracing.Span;
+import domain.tracing.Tracer;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class OrderInvoker {
 
     private final List<OrderCommand> queue = new ArrayList<>();
 
-    public void addCommand(OrderCommand command) {
+    public synchronized void addCommand(OrderCommand command) {
         queue.add(command);
     }
 
     public void processCommands() {
-        for (OrderCommand command : queue) {
-            command.execute();
+        for (OrderCommand command : drainQueue()) {
+            execute(command);
         }
-        queue.clear();
+    }
+
+    public CommandBatch processCommandsConcurrently() {
+        return processCommandsConcurrently(ForkJoinPool.commonPool());
+    }
+
+    public CommandBatch processCommandsConcurrently(Executor executor) {
+        List<OrderCommand> batch = drainQueue();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(batch.size());
+        Map<Object, CompletableFuture<Void>> lastByKey = new HashMap<>();
+
+        for (OrderCommand command : batch) {
+            Object key = command.getOrderingKey();
+            CompletableFuture<Void> previous = key == null ? null : lastByKey.get(key);
+
+            CompletableFuture<Void> future;
+            if (previous == null) {
+                future = CompletableFuture.runAsync(() -> execute(command), executor);
+            } else {
+                // A failed predecessor must not block the rest of its key.
+                future = previous.handle((ignored, error) -> null)
+                        .thenRunAsync(() -> execute(command), executor);
+            }
+
+            if (key != null) {
+                lastByKey.put(key, future);
+            }
+            futures.add(future);
+        }
+
+        return new CommandBatch(batch, futures);
     }
 
     public void execute(OrderCommand command) {
-        command.execute();
+        long start = Metrics.start();
+        try (Span span = Tracer.startSpan("command.execute")) {
+            if (span.isSampled()) {
+                span.setAttribute("command", command.getClass().getSimpleName());
+            }
+            command.execute();
+        } finally {
+            Metrics.record(LatencyStage.COMMAND, start);
+        }
+    }
+
+    private synchronized List<OrderCommand> drainQueue() {
+        List<OrderCommand> batch = new ArrayList<>(queue);
+        queue.clear();
+        return batch;
     }
 }
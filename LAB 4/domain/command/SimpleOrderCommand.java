@@ -6,14 +6,25 @@ public class SimpleOrderCommand implements OrderCommand {
 
     private final PizzeriaFacade facade;
     private final String type;
+    private final Object orderingKey;
 
     public SimpleOrderCommand(PizzeriaFacade facade, String type) {
+        this(facade, type, null);
+    }
+
+    public SimpleOrderCommand(PizzeriaFacade facade, String type, Object orderingKey) {
         this.facade = facade;
         this.type = type;
+        this.orderingKey = orderingKey;
     }
 
     @Override
     public void execute() {
         facade.orderSimple(type);
     }
+
+    @Override
+    public Object getOrderingKey() {
+        return orderingKey;
+    }
 }
@@ -9,15 +9,26 @@ public class ToppingsOrderCommand implements OrderCommand {
     private final PizzeriaFacade facade;
     private final String type;
     private final List<String> toppings;
+    private final Object orderingKey;
 
     public ToppingsOrderCommand(PizzeriaFacade facade, String type, List<String> toppings) {
+        this(facade, type, toppings, null);
+    }
+
+    public ToppingsOrderCommand(PizzeriaFacade facade, String type, List<String> toppings, Object orderingKey) {
         this.facade = facade;
         this.type = type;
         this.toppings = toppings;
+        this.orderingKey = orderingKey;
     }
 
     @Override
     public void execute() {
         facade.orderWithToppings(type, toppings);
     }
+
+    @Override
+    public Object getOrderingKey() {
+        return orderingKey;
+    }
 }
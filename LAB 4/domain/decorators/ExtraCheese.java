@@ -1,6 +1,8 @@
 package domain.decorators;
 
 import domain.Pizza;
+import domain.events.Events;
+import domain.order.Topping;
 
 public class ExtraCheese extends PizzaDecorator {
 
@@ -11,6 +13,11 @@ public class ExtraCheese extends PizzaDecorator {
     @Override
     public void prepare() {
         super.prepare();
-        System.out.println(" + adding extra cheese");
+        Events.debug("Decorator", getTopping().getPrepareNote());
+    }
+
+    @Override
+    public Topping getTopping() {
+        return Topping.CHEESE;
     }
 }
@@ -1,5 +1,6 @@
 package domain.decorators;
 import domain.Pizza;
+import domain.order.Topping;
 
 public abstract class PizzaDecorator implements Pizza {
     protected final Pizza basePizza;
@@ -8,6 +9,14 @@ public abstract class PizzaDecorator implements Pizza {
         this.basePizza = pizza;
     }
 
+    public Pizza getBasePizza() {
+        return basePizza;
+    }
+
+    public Topping getTopping() {
+        return null;
+    }
+
     @Override
     public void prepare() {
         basePizza.prepare();
@@ -1,6 +1,8 @@
 package domain.decorators;
 
 import domain.Pizza;
+import domain.events.Events;
+import domain.order.Topping;
 
 public class StuffedCrust extends PizzaDecorator {
 
@@ -11,6 +13,11 @@ public class StuffedCrust extends PizzaDecorator {
     @Override
     public void prepare() {
         super.prepare();
-        System.out.println(" + using stuffed crust");
+        Events.debug("Decorator", getTopping().getPrepareNote());
+    }
+
+    @Override
+    public Topping getTopping() {
+        return Topping.STUFFED_CRUST;
     }
 }
@@ -0,0 +1,99 @@
+package domain.decorators;
+
+import domain.Pizza;
+import domain.events.Events;
+import domain.order.Topping;
+
+import java.util.Arrays;
+
+public final class ToppedPizza implements Pizza {
+
+    private static final byte[] NO_TOPPINGS = new byte[0];
+
+    private final Pizza basePizza;
+    private final byte[] toppings;
+    private final int toppingMask;
+
+    private ToppedPizza(Pizza basePizza, byte[] toppings) {
+        this.basePizza = basePizza;
+        this.toppings = toppings;
+
+        int mask = 0;
+        for (byte topping : toppings) {
+            mask |= 1 << topping;
+        }
+        this.toppingMask = mask;
+    }
+
+    public static ToppedPizza of(Pizza basePizza, Topping... toppings) {
+        byte[] ids = new byte[toppings.length];
+        for (int i = 0; i < toppings.length; i++) {
+            ids[i] = (byte) toppings[i].ordinal();
+        }
+        return new ToppedPizza(basePizza, ids);
+    }
+
+    // Peels topping decorators off from the outside; anything else becomes the base.
+    public static ToppedPizza flatten(Pizza pizza) {
+        if (pizza instanceof ToppedPizza) {
+            return (ToppedPizza) pizza;
+        }
+
+        int depth = 0;
+        Pizza base = pizza;
+        while (base instanceof PizzaDecorator && ((PizzaDecorator) base).getTopping() != null) {
+            base = ((PizzaDecorator) base).getBasePizza();
+            depth++;
+        }
+
+        byte[] ids = depth == 0 ? NO_TOPPINGS : new byte[depth];
+        Pizza p = pizza;
+        for (int i = depth - 1; i >= 0; i--) {
+            PizzaDecorator decorator = (PizzaDecorator) p;
+            ids[i] = (byte) decorator.getTopping().ordinal();
+            p = decorator.getBasePizza();
+        }
+        return new ToppedPizza(base, ids);
+    }
+
+    public Pizza getBasePizza() {
+        return basePizza;
+    }
+
+    public int getToppingMask() {
+        return toppingMask;
+    }
+
+    public int getToppingCount() {
+        return toppings.length;
+    }
+
+    public ToppedPizza with(Topping topping) {
+        byte[] ids = Arrays.copyOf(toppings, toppings.length + 1);
+        ids[toppings.length] = (byte) topping.ordinal();
+        return new ToppedPizza(basePizza, ids);
+    }
+
+    @Override
+    public void prepare() {
+        basePizza.prepare();
+        for (byte topping : toppings) {
+            Events.debug("Decorator", Topping.fromId(topping).getPrepareNote());
+        }
+    }
+
+    @Override
+    public void bake() {
+        basePizza.bake();
+    }
+
+    @Override
+    public void cut() {
+        basePizza.cut();
+    }
+
+    @Override
+    public void box() {
+        basePizza.box();
+    }
+}
@@ -0,0 +1,113 @@
+package domain.events;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class AsyncEventSink implements EventSink {
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final PrintStream out;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public AsyncEventSink(PrintStream out, int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.out = out;
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            published.set(i, -1);
+        }
+
+        this.writer = new Thread(this::drain, "event-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // Never blocks the caller: when the buffer is full the event is dropped and counted.
+    @Override
+    public void publish(EventLevel level, String source, String text, Object argument, long number, String suffix) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - drained.get() >= slots.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        Slot slot = slots[index];
+        slot.level = level;
+        slot.source = source;
+        slot.text = text;
+        slot.argument = argument;
+        slot.number = number;
+        slot.suffix = suffix;
+        published.set(index, sequence);
+    }
+
+    @Override
+    public void flush() {
+        long target = claimed.get();
+        while (drained.get() < target && writer.isAlive()) {
+            LockSupport.parkNanos(50_000);
+        }
+        out.flush();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join();
+        out.flush();
+    }
+
+    private void drain() {
+        StringBuilder line = new StringBuilder(128);
+        long next = 0;
+
+        while (running || next < claimed.get()) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                out.flush();
+                LockSupport.parkNanos(100_000);
+                continue;
+            }
+
+            Slot slot = slots[index];
+            line.setLength(0);
+            EventSink.format(line, slot.level, slot.source, slot.text, slot.argument, slot.number, slot.suffix);
+            slot.argument = null;
+            out.append(line).append(System.lineSeparator());
+
+            next++;
+            drained.set(next);
+        }
+    }
+
+    private static final class Slot {
+        private EventLevel level;
+        private String source;
+        private String text;
+        private Object argument;
+        private long number;
+        private String suffix;
+    }
+}
@@ -0,0 +1,23 @@
+package domain.events;
+
+import java.io.PrintStream;
+
+public class ConsoleEventSink implements EventSink {
+
+    private final PrintStream out;
+
+    public ConsoleEventSink() {
+        this(System.out);
+    }
+
+    public ConsoleEventSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void publish(EventLevel level, String source, String text, Object argument, long number, String suffix) {
+        StringBuilder line = new StringBuilder(64);
+        EventSink.format(line, level, source, text, argument, number, suffix);
+        out.println(line);
+    }
+}
@@ -0,0 +1,8 @@
+package domain.events;
+
+public enum EventLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    OFF
+}
@@ -0,0 +1,41 @@
+package domain.events;
+
+public interface EventSink {
+
+    long NO_NUMBER = Long.MIN_VALUE;
+    int LEVEL_WIDTH = 5;
+
+    // The message is text + argument + number + suffix; null parts and
+    // NO_NUMBER are skipped. Parts are passed separately so nothing is
+    // concatenated unless the event is actually written.
+    void publish(EventLevel level, String source, String text, Object argument, long number, String suffix);
+
+    default void flush() {
+    }
+
+    // "LEVEL [source] message". Line breaks leading the text are written
+    // before the prefix, so they still separate sections of output.
+    static void format(StringBuilder out, EventLevel level, String source,
+                       String text, Object argument, long number, String suffix) {
+        int start = 0;
+        while (text != null && start < text.length() && text.charAt(start) == '\n') {
+            out.append(System.lineSeparator());
+            start++;
+        }
+        out.append(level.name());
+        for (int pad = level.name().length(); pad <= LEVEL_WIDTH; pad++) {
+            out.append(' ');
+        }
+        if (source != null) {
+            out.append('[').append(source).append("] ");
+        }
+        format(out, text == null ? null : text.substring(start), argument, number, suffix);
+    }
+
+    static void format(StringBuilder out, String text, Object argument, long number, String suffix) {
+        if (text != null) out.append(text);
+        if (argument != null) out.append(argument);
+        if (number != NO_NUMBER) out.append(number);
+        if (suffix != null) out.append(suffix);
+    }
+}
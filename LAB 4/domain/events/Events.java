@@ -0,0 +1,76 @@
+package domain.events;
+
+public final class Events {
+
+    private static volatile EventSink sink = new ConsoleEventSink();
+    private static volatile int threshold = EventLevel.DEBUG.ordinal();
+
+    private Events() {
+    }
+
+    public static void setSink(EventSink newSink) {
+        sink = newSink;
+    }
+
+    public static EventSink getSink() {
+        return sink;
+    }
+
+    public static void setLevel(EventLevel level) {
+        threshold = level.ordinal();
+    }
+
+    public static void disable() {
+        setLevel(EventLevel.OFF);
+    }
+
+    public static boolean isEnabled(EventLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public static void debug(String source, String text) {
+        log(EventLevel.DEBUG, source, text, null, EventSink.NO_NUMBER, null);
+    }
+
+    public static void debug(String source, String text, Object argument) {
+        log(EventLevel.DEBUG, source, text, argument, EventSink.NO_NUMBER, null);
+    }
+
+    public static void debug(String source, String text, Object argument, String suffix) {
+        log(EventLevel.DEBUG, source, text, argument, EventSink.NO_NUMBER, suffix);
+    }
+
+    public static void debug(String source, String text, long number, String suffix) {
+        log(EventLevel.DEBUG, source, text, null, number, suffix);
+    }
+
+    public static void info(String source, String text) {
+        log(EventLevel.INFO, source, text, null, EventSink.NO_NUMBER, null);
+    }
+
+    public static void info(String source, String text, Object argument) {
+        log(EventLevel.INFO, source, text, argument, EventSink.NO_NUMBER, null);
+    }
+
+    public static void info(String source, String text, Object argument, String suffix) {
+        log(EventLevel.INFO, source, text, argument, EventSink.NO_NUMBER, suffix);
+    }
+
+    public static void info(String source, String text, long number, String suffix) {
+        log(EventLevel.INFO, source, text, null, number, suffix);
+    }
+
+    public static void warn(String source, String text) {
+        log(EventLevel.WARN, source, text, null, EventSink.NO_NUMBER, null);
+    }
+
+    public static void warn(String source, String text, Object argument) {
+        log(EventLevel.WARN, source, text, argument, EventSink.NO_NUMBER, null);
+    }
+
+    private static void log(EventLevel level, String source, String text, Object argument, long number, String suffix) {
+        if (level.ordinal() >= threshold) {
+            sink.publish(level, source, text, argument, number, suffix);
+        }
+    }
+}
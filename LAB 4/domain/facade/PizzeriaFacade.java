@@ -2,81 +2,116 @@ package domain.facade;
 
 import domain.Pizza;
 import domain.factory.PizzaFactory;
-import domain.decorators.*;
+import domain.order.OrderCodec;
+import domain.order.Topping;
 import domain.singleton.OrderManager;
 import domain.utilities.*;
 import domain.builder.CustomPizza;
+import domain.events.Events;
+import domain.metrics.LatencyStage;
+import domain.metrics.Metrics;
+import domain.tracing.Span;
+import domain.tracing.Tracer;
 
 import domain.strategy.DeliveryStrategy;
 import domain.strategy.PickupStrategy;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class PizzeriaFacade {
 
-    private final Oven oven;
+    private static final int MAX_BAKE_BYPASS = 4;
+
+    private final BakeScheduler scheduler;
     private final OrderManager orderManager;
 
     private DeliveryStrategy deliveryStrategy = new PickupStrategy();
+    private KitchenPipeline pipeline;
+
+    private final ThreadLocal<CustomPizza.PizzaBuilder> customBuilder =
+            ThreadLocal.withInitial(CustomPizza.PizzaBuilder::new);
 
     public void setDeliveryStrategy(DeliveryStrategy strategy) {
         this.deliveryStrategy = strategy;
     }
 
+    public void setKitchenPipeline(KitchenPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
     public PizzeriaFacade() {
-        this.oven = new LegacyOvenAdapter(new LegacyOven());
+        this(new LegacyOvenAdapter(new LegacyOven()));
+    }
+
+    public PizzeriaFacade(Oven oven) {
+        this.scheduler = new BakeScheduler(oven, MAX_BAKE_BYPASS);
         this.orderManager = OrderManager.getInstance();
     }
 
     public Pizza orderSimple(String type) {
+        try (Span span = Tracer.startSpan("facade.orderSimple")) {
+            span.setAttribute("pizza.type", type);
+            return orderSimpleTraced(type);
+        }
+    }
+
+    private Pizza orderSimpleTraced(String type) {
         Pizza pizza = PizzaFactory.createPizza(type);
 
         if (pizza == null) {
-            System.out.println("Invalid pizza type!");
+            Events.warn("Facade", "Invalid pizza type!");
             return null;
         }
 
-        oven.preheat(220);
-        oven.bake(pizza, 15);
-
-        orderManager.addOrder(pizza);
-
-        deliveryStrategy.deliver(pizza.getClass().getSimpleName());
+        fulfil(pizza, 15);
 
         return pizza;
     }
 
     public Pizza orderWithToppings(String type, List<String> toppings) {
+        try (Span span = Tracer.startSpan("facade.orderWithToppings")) {
+            span.setAttribute("pizza.type", type);
+            span.setAttribute("topping.count", toppings.size());
+            return orderWithToppingsTraced(type, toppings);
+        }
+    }
+
+    private Pizza orderWithToppingsTraced(String type, List<String> toppings) {
         Pizza pizza = PizzaFactory.createPizza(type);
 
         if (pizza == null) {
-            System.out.println("Invalid pizza type!");
+            Events.warn("Facade", "Invalid pizza type!");
             return null;
         }
 
+        Topping[] recipe = new Topping[toppings.size()];
+        int count = 0;
         for (String t : toppings) {
-            switch (t.toLowerCase()) {
-                case "cheese": pizza = new ExtraCheese(pizza); break;
-                case "olives": pizza = new ExtraOlives(pizza); break;
-                case "stuffed": pizza = new StuffedCrust(pizza); break;
-                default:
-                    System.out.println("Unknown topping: " + t);
+            int id = PizzaFactory.getMenu().toppingId(t);
+            if (id >= 0) {
+                recipe[count++] = Topping.fromId(id);
+            } else {
+                Events.warn("Facade", "Unknown topping: ", t);
             }
         }
+        pizza = PizzaFactory.withToppings(pizza, Arrays.copyOf(recipe, count));
 
-        oven.preheat(220);
-        oven.bake(pizza, 18);
-
-        orderManager.addOrder(pizza);
-
-        deliveryStrategy.deliver(pizza.getClass().getSimpleName());
+        fulfil(pizza, 18);
 
         return pizza;
     }
 
     public CustomPizza orderCustom(String size, String crust, boolean cheese, boolean pepperoni, boolean mushrooms) {
+        try (Span span = Tracer.startSpan("facade.orderCustom")) {
+            span.setAttribute("pizza.size", size);
+            return orderCustomTraced(size, crust, cheese, pepperoni, mushrooms);
+        }
+    }
 
-        CustomPizza.PizzaBuilder builder = new CustomPizza.PizzaBuilder()
+    private CustomPizza orderCustomTraced(String size, String crust, boolean cheese, boolean pepperoni, boolean mushrooms) {
+        CustomPizza.PizzaBuilder builder = customBuilder.get()
+                .reset()
                 .setSize(size)
                 .setCrustType(crust);
 
@@ -86,14 +121,54 @@ public class PizzeriaFacade {
 
         CustomPizza pizza = builder.build();
 
-        System.out.println("\n[Custom Pizza Created]");
+        Events.info("Facade", "\n[Custom Pizza Created]");
         pizza.displayPizza();
 
-        deliveryStrategy.deliver("CustomPizza");
+        fulfil(pizza, 18);
 
         return pizza;
     }
 
+    private void fulfil(Pizza pizza, int minutes) {
+        DeliveryStrategy strategy = deliveryStrategy;
+        String name = OrderCodec.nameOf(pizza);
+        int typeId = OrderCodec.typeIdOf(pizza);
+
+        if (pipeline == null) {
+            // Preheat and bake run as one unit on the scheduler, so concurrent
+            // orders cannot change the temperature under each other's bake.
+            long start = Metrics.start();
+            try (Span span = Tracer.startSpan("oven.bake")) {
+                span.setAttribute("pizza", name);
+                scheduler.bake(pizza, minutes, OrderCodec.bakeTemperature(typeId));
+            }
+            Metrics.record(LatencyStage.BAKE, typeId, -1, start);
+
+            orderManager.addOrder(pizza, strategy.getMode());
+            deliver(strategy, name, typeId);
+            return;
+        }
+
+        // As above, the order is only recorded once the pizza is baked.
+        pipeline.submit(pizza, minutes).whenComplete(Tracer.wrap((baked, failure) -> {
+            if (failure != null) {
+                Events.warn("Kitchen", "Order not fulfilled: ", failure);
+                return;
+            }
+            orderManager.addOrder(pizza, strategy.getMode());
+            deliver(strategy, name, typeId);
+        }));
+    }
+
+    private void deliver(DeliveryStrategy strategy, String name, int typeId) {
+        long start = Metrics.start();
+        try (Span span = Tracer.startSpan("delivery.deliver")) {
+            span.setAttribute("delivery.mode", strategy.getMode().name());
+            strategy.deliver(name);
+        }
+        Metrics.record(LatencyStage.DELIVER, typeId, strategy.getMode().id(), start);
+    }
+
     public void printOrders() {
         orderManager.showOrders();
     }
@@ -0,0 +1,206 @@
+package domain.factory;
+
+import domain.Barbeque;
+import domain.Margherita;
+import domain.Pizza;
+import domain.Rancho;
+import domain.order.OrderCodec;
+import domain.order.PizzaType;
+import domain.order.Topping;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceLoader;
+
+// Immutable menu snapshot; a reload builds a new one instead of mutating this.
+// Type ids are only bound when PizzaFactory accepts the snapshot.
+public class MenuRegistry {
+
+    private static final String PIZZA_PREFIX = "pizza.";
+    private static final String TOPPING_PREFIX = "topping.";
+    private static final String BAKE_PREFIX = "bake.";
+
+    private final NameTable pizzaNames;
+    private final NameTable toppings;
+    private final Pizza[] pizzas;
+    private final String[] names;
+    private final int[] temperatures;
+    private final String[] toppingNames = new String[Topping.values().length];
+
+    private int[] pizzaTypes;
+    private Pizza[] pizzasByType;
+
+    public MenuRegistry(Map<String, Pizza> pizzas, Map<String, Topping> toppings) {
+        this(pizzas, Map.of(), toppings);
+    }
+
+    // Pizzas that are not one of the built-in types are recorded, journalled
+    // and baked under their menu name once the menu is accepted; a missing
+    // temperature gets the default.
+    public MenuRegistry(Map<String, Pizza> pizzas, Map<String, Integer> bakeTemperatures,
+                        Map<String, Topping> toppings) {
+        this.pizzas = new Pizza[pizzas.size()];
+        this.names = new String[pizzas.size()];
+        this.temperatures = new int[pizzas.size()];
+
+        Map<String, Integer> pizzaIds = new HashMap<>();
+        int index = 0;
+        for (Map.Entry<String, Pizza> entry : pizzas.entrySet()) {
+            this.pizzas[index] = entry.getValue();
+            this.names[index] = entry.getKey();
+            this.temperatures[index] = bakeTemperatures.getOrDefault(entry.getKey(),
+                    PizzaType.UNKNOWN.getBakeTemperature());
+            pizzaIds.put(entry.getKey(), index++);
+        }
+
+        Map<String, Integer> toppingIds = new HashMap<>();
+        toppings.forEach((name, topping) -> {
+            toppingIds.put(name, topping.ordinal());
+            if (toppingNames[topping.ordinal()] == null) {
+                toppingNames[topping.ordinal()] = name;
+            }
+        });
+
+        this.pizzaNames = new NameTable(pizzaIds);
+        this.toppings = new NameTable(toppingIds);
+    }
+
+    public static MenuRegistry standard() {
+        Map<String, Pizza> pizzas = new LinkedHashMap<>();
+        pizzas.put("rancho", new Rancho());
+        pizzas.put("margherita", new Margherita());
+        pizzas.put("barbeque", new Barbeque());
+
+        Map<String, Topping> toppings = new LinkedHashMap<>();
+        toppings.put("cheese", Topping.CHEESE);
+        toppings.put("olives", Topping.OLIVES);
+        toppings.put("stuffed", Topping.STUFFED_CRUST);
+
+        return new MenuRegistry(pizzas, toppings);
+    }
+
+    // Reads "pizza.<name>=<class>", "bake.<name>=<degrees>" and
+    // "topping.<name>=<TOPPING>" entries, then adds any PizzaProvider
+    // registered through ServiceLoader.
+    public static MenuRegistry load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+
+        Map<String, Pizza> pizzas = new LinkedHashMap<>();
+        Map<String, Integer> temperatures = new HashMap<>();
+        Map<String, Topping> toppings = new LinkedHashMap<>();
+        List<String> names = new ArrayList<>(properties.stringPropertyNames());
+        names.sort(null);
+
+        for (String key : names) {
+            String value = properties.getProperty(key).trim();
+            if (key.startsWith(PIZZA_PREFIX)) {
+                pizzas.put(key.substring(PIZZA_PREFIX.length()).toLowerCase(Locale.ROOT), instantiate(value));
+            } else if (key.startsWith(BAKE_PREFIX)) {
+                temperatures.put(key.substring(BAKE_PREFIX.length()).toLowerCase(Locale.ROOT), parseTemperature(key, value));
+            } else if (key.startsWith(TOPPING_PREFIX)) {
+                toppings.put(key.substring(TOPPING_PREFIX.length()).toLowerCase(Locale.ROOT), Topping.valueOf(value));
+            } else {
+                throw new IllegalArgumentException("Unknown menu entry: " + key);
+            }
+        }
+
+        for (PizzaProvider provider : ServiceLoader.load(PizzaProvider.class)) {
+            String name = provider.getName().toLowerCase(Locale.ROOT);
+            if (pizzas.putIfAbsent(name, provider.create()) == null) {
+                temperatures.putIfAbsent(name, provider.getBakeTemperature());
+            }
+        }
+
+        return new MenuRegistry(pizzas, temperatures, toppings);
+    }
+
+    public Pizza findPizza(CharSequence name) {
+        int index = pizzaNames.lookup(name);
+        return index < 0 ? null : pizzas[index];
+    }
+
+    public Pizza findPizza(int typeId) {
+        checkRegistered();
+        return typeId >= 0 && typeId < pizzasByType.length ? pizzasByType[typeId] : null;
+    }
+
+    public int pizzaId(CharSequence name) {
+        checkRegistered();
+        int index = pizzaNames.lookup(name);
+        return index < 0 ? -1 : pizzaTypes[index];
+    }
+
+    public int toppingId(CharSequence name) {
+        return toppings.lookup(name);
+    }
+
+    // The name this menu accepts for the topping, or null if it is not offered.
+    public String toppingName(Topping topping) {
+        return toppingNames[topping.ordinal()];
+    }
+
+    public int getPizzaCount() {
+        return pizzas.length;
+    }
+
+    // Called by PizzaFactory just before it publishes this menu. Names the
+    // codec already knows keep their ids; if the new names do not fit, the
+    // menu is rejected without using any id.
+    void registerTypes() {
+        if (pizzaTypes != null) {
+            return;
+        }
+        int[] types = OrderCodec.registerTypes(pizzas, names, temperatures);
+        Pizza[] byType = new Pizza[PizzaType.MAX_TYPES];
+        for (int i = 0; i < pizzas.length; i++) {
+            if (byType[types[i]] == null) {
+                byType[types[i]] = pizzas[i];
+            }
+        }
+        pizzasByType = byType;
+        pizzaTypes = types;
+    }
+
+    private void checkRegistered() {
+        if (pizzaTypes == null) {
+            throw new IllegalStateException("Menu has not been published through PizzaFactory");
+        }
+    }
+
+    private static int parseTemperature(String key, String value) {
+        int degrees;
+        try {
+            degrees = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid bake temperature for " + key + ": " + value, e);
+        }
+        if (degrees <= 0) {
+            throw new IllegalArgumentException("Invalid bake temperature for " + key + ": " + value);
+        }
+        return degrees;
+    }
+
+    private static Pizza instantiate(String className) {
+        try {
+            Class<?> type = Class.forName(className);
+            if (!Pizza.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException(className + " is not a Pizza");
+            }
+            return (Pizza) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot create pizza " + className, e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package domain.factory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import domain.events.Events;
+
+public class MenuWatcher {
+
+    private final Path file;
+    private final ScheduledExecutorService timer;
+    private FileTime lastModified;
+
+    public MenuWatcher(Path file, long intervalMillis) {
+        this.file = file;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "menu-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::check, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        timer.shutdown();
+    }
+
+    private void check() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            PizzaFactory.reloadMenu(file);
+            lastModified = modified;
+            Events.info("Menu", "Reloaded ", file);
+            Events.debug("Menu", "Reload took ", PizzaFactory.getLastReloadNanos() / 1_000, " us");
+        } catch (IOException | RuntimeException e) {
+            Events.warn("Menu", "Keeping current menu, reload failed: ", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package domain.factory;
+
+import java.util.Locale;
+import java.util.Map;
+
+// Immutable open-addressing table keyed by lowercase names; lookups are
+// case-insensitive over any CharSequence and never allocate.
+final class NameTable {
+
+    private final String[] keys;
+    private final int[] values;
+    private final int mask;
+
+    NameTable(Map<String, Integer> entries) {
+        int capacity = Integer.highestOneBit(Math.max(2, entries.size() * 4) - 1) << 1;
+        this.keys = new String[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            String key = entry.getKey().toLowerCase(Locale.ROOT);
+            int slot = hash(key) & mask;
+            while (keys[slot] != null) {
+                if (keys[slot].equals(key)) {
+                    throw new IllegalArgumentException("Duplicate menu name: " + key);
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = entry.getValue();
+        }
+    }
+
+    int lookup(CharSequence name) {
+        if (name == null) {
+            return -1;
+        }
+        int slot = hash(name) & mask;
+        while (keys[slot] != null) {
+            if (matches(keys[slot], name)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    int size() {
+        int size = 0;
+        for (String key : keys) {
+            if (key != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private static int hash(CharSequence name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            h = 31 * h + Character.toLowerCase(name.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String key, CharSequence name) {
+        if (key.length() != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != Character.toLowerCase(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package domain.factory;
+
+import domain.Pizza;
+import domain.decorators.ToppedPizza;
+import domain.order.Topping;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PizzaCache {
+
+    private static final int MAX_KEYED_TOPPINGS = 16;
+
+    private final Map<Key, ToppedPizza> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public PizzaCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ToppedPizza> eldest) {
+                if (size() > maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Pizza get(Pizza base, Topping... toppings) {
+        Topping[] sorted = toppings.clone();
+        Arrays.sort(sorted);
+
+        if (sorted.length > MAX_KEYED_TOPPINGS) {
+            synchronized (this) {
+                misses++;
+            }
+            return ToppedPizza.of(base, sorted);
+        }
+
+        // topping count (5 bits) | 3 bits per sorted topping
+        long code = sorted.length;
+        for (Topping topping : sorted) {
+            code = (code << 3) | topping.ordinal();
+        }
+        Key key = new Key(base, code);
+
+        synchronized (this) {
+            ToppedPizza pizza = entries.get(key);
+            if (pizza != null) {
+                hits++;
+                return pizza;
+            }
+            misses++;
+            pizza = ToppedPizza.of(base, sorted);
+            entries.put(key, pizza);
+            return pizza;
+        }
+    }
+
+    // Entries hold their base pizza, so a menu reload must drop them.
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // The base is compared by identity: menu pizzas are shared instances, so
+    // plugin types never collide, and a base that already carries toppings
+    // is never confused with the plain pizza under it.
+    private static final class Key {
+        private final Pizza base;
+        private final long toppings;
+
+        Key(Pizza base, long toppings) {
+            this.base = base;
+            this.toppings = toppings;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return base == key.base && toppings == key.toppings;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(base) + Long.hashCode(toppings);
+        }
+    }
+}
@@ -1,36 +1,88 @@
  package domain.factory;
 
 import domain.Pizza;
-import domain.Barbeque;
-import domain.Margherita;
-import domain.Rancho;
+import domain.events.Events;
+import domain.metrics.LatencyStage;
+import domain.metrics.Metrics;
+import domain.order.OrderCodec;
+import domain.order.Topping;
+import domain.tracing.Span;
+import domain.tracing.Tracer;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Supplier;
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class PizzaFactory {
-    private static final Map<String, Supplier<Pizza>> pizzaMap = new HashMap<>();
+    private static volatile MenuRegistry menu = accept(MenuRegistry.standard());
+    private static final PizzaCache cache = new PizzaCache(256);
 
-    static {
-        pizzaMap.put("rancho", Rancho::new);
-        pizzaMap.put("margherita", Margherita::new);
-        pizzaMap.put("barbeque", Barbeque::new);
-    }
+    private static volatile long lastReloadNanos;
 
     public static Pizza createPizza(String type) {
         if (type == null) {
-            System.out.println("Pizza type cannot be null");
+            Events.warn("Factory", "Pizza type cannot be null");
             return null;
         }
 
-        Supplier<Pizza> pizzaSupplier = pizzaMap.get(type.toLowerCase());
+        long start = Metrics.start();
+        Pizza pizza;
+        try (Span span = Tracer.startSpan("factory.createPizza")) {
+            pizza = menu.findPizza(type);
+            span.setAttribute("pizza.type", type);
+        }
+        Metrics.record(LatencyStage.CREATE, pizza == null ? -1 : OrderCodec.typeIdOf(pizza), -1, start);
         
-        if (pizzaSupplier != null) {
-            return pizzaSupplier.get();
+        if (pizza != null) {
+            return pizza;
         } else {
-            System.out.println("Invalid pizza type: " + type);
+            Events.warn("Factory", "Invalid pizza type: ", type);
             return null;
         }
     }
+
+    public static Pizza createPizza(int typeId) {
+        return menu.findPizza(typeId);
+    }
+
+    public static Pizza createPizza(String type, Topping... toppings) {
+        Pizza pizza = createPizza(type);
+        return pizza == null ? null : withToppings(pizza, toppings);
+    }
+
+    public static Pizza withToppings(Pizza base, Topping... toppings) {
+        return toppings.length == 0 ? base : cache.get(base, toppings);
+    }
+
+    // The new snapshot is built completely before it is published, so readers
+    // never see a half-loaded menu and never take a lock. A menu that fails to
+    // load or register leaves the current one in place.
+    public static void reloadMenu(Path file) throws IOException {
+        long begin = System.nanoTime();
+        MenuRegistry loaded = MenuRegistry.load(file);
+        menu = accept(loaded);
+        cache.clear();
+        lastReloadNanos = System.nanoTime() - begin;
+    }
+
+    public static void setMenu(MenuRegistry registry) {
+        menu = accept(registry);
+        cache.clear();
+    }
+
+    private static MenuRegistry accept(MenuRegistry registry) {
+        registry.registerTypes();
+        return registry;
+    }
+
+    public static long getLastReloadNanos() {
+        return lastReloadNanos;
+    }
+
+    public static MenuRegistry getMenu() {
+        return menu;
+    }
+
+    public static PizzaCache getCache() {
+        return cache;
+    }
 }
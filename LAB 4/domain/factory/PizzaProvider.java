@@ -0,0 +1,13 @@
+package domain.factory;
+
+import domain.Pizza;
+import domain.order.PizzaType;
+
+public interface PizzaProvider {
+    String getName();
+    Pizza create();
+
+    default int getBakeTemperature() {
+        return PizzaType.UNKNOWN.getBakeTemperature();
+    }
+}
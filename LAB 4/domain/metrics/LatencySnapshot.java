@@ -0,0 +1,46 @@
+package domain.metrics;
+
+import domain.order.DeliveryMode;
+import domain.order.PizzaType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LatencySnapshot {
+
+    private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+
+    void put(String name, LatencyHistogram histogram) {
+        if (histogram.getCount() > 0) {
+            histograms.put(name, histogram);
+        }
+    }
+
+    public LatencyHistogram get(LatencyStage stage) {
+        return histograms.get(stage.name());
+    }
+
+    public LatencyHistogram get(LatencyStage stage, PizzaType type) {
+        return histograms.get(stage.name() + "/" + type.getDisplayName());
+    }
+
+    public LatencyHistogram get(LatencyStage stage, DeliveryMode mode) {
+        return histograms.get(stage.name() + "/" + mode.name());
+    }
+
+    public Map<String, LatencyHistogram> getAll() {
+        return histograms;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-28s %10s %10s %10s %10s %10s%n", "stage", "count", "p50 ns", "p99 ns", "p99.9 ns", "max ns"));
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            sb.append(String.format("%-28s %10d %10d %10d %10d %10d%n", entry.getKey(), h.getCount(),
+                    h.percentile(50), h.percentile(99), h.percentile(99.9), h.getMax()));
+        }
+        return sb.toString();
+    }
+}
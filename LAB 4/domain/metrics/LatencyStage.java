@@ -0,0 +1,11 @@
+package domain.metrics;
+
+public enum LatencyStage {
+    COMMAND,
+    CREATE,
+    PREHEAT,
+    BAKE,
+    ADD_ORDER,
+    NOTIFY,
+    DELIVER
+}
@@ -0,0 +1,189 @@
+package domain.metrics;
+
+import domain.events.Events;
+import domain.order.DeliveryMode;
+import domain.order.PizzaType;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public final class Metrics {
+
+    private static final PizzaType[] TYPES = PizzaType.values();
+    private static final DeliveryMode[] MODES = DeliveryMode.values();
+    private static final int PER_STAGE = 1 + TYPES.length + MODES.length;
+
+    private static final List<ThreadBuffer> buffers = new CopyOnWriteArrayList<>();
+    // Buffers of threads that have exited are folded in here and dropped, so
+    // short-lived threads do not keep their histograms alive.
+    private static final ThreadBuffer retired = new ThreadBuffer(null);
+    private static final ThreadLocal<ThreadBuffer> local = ThreadLocal.withInitial(() -> {
+        retireDeadThreads();
+        ThreadBuffer buffer = new ThreadBuffer(Thread.currentThread());
+        buffers.add(buffer);
+        return buffer;
+    });
+
+    private static volatile boolean enabled = true;
+    private static ScheduledExecutorService dumper;
+
+    private Metrics() {
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void record(LatencyStage stage, long startNanos) {
+        record(stage, -1, -1, startNanos);
+    }
+
+    public static void record(LatencyStage stage, int typeId, int modeId, long startNanos) {
+        if (startNanos == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        ThreadBuffer buffer = local.get();
+        // Each thread only writes its own buffer; the lock is uncontended
+        // except while a snapshot is being merged.
+        synchronized (buffer) {
+            int base = stage.ordinal() * PER_STAGE;
+            buffer.record(base, elapsed);
+            if (typeId >= 0) {
+                // Menu-defined types share the UNKNOWN histogram.
+                buffer.record(base + 1 + (typeId < TYPES.length ? typeId : PizzaType.UNKNOWN.id()), elapsed);
+            }
+            if (modeId >= 0) {
+                buffer.record(base + 1 + TYPES.length + modeId, elapsed);
+            }
+        }
+    }
+
+    public static LatencySnapshot snapshot() {
+        retireDeadThreads();
+        LatencyHistogram[] merged = new LatencyHistogram[LatencyStage.values().length * PER_STAGE];
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = new LatencyHistogram();
+        }
+        // Holding retired keeps a buffer from moving between the two reads.
+        synchronized (retired) {
+            retired.addTo(merged);
+            for (ThreadBuffer buffer : buffers) {
+                synchronized (buffer) {
+                    buffer.addTo(merged);
+                }
+            }
+        }
+
+        LatencySnapshot snapshot = new LatencySnapshot();
+        for (LatencyStage stage : LatencyStage.values()) {
+            int base = stage.ordinal() * PER_STAGE;
+            snapshot.put(stage.name(), merged[base]);
+            for (PizzaType type : TYPES) {
+                snapshot.put(stage.name() + "/" + type.getDisplayName(), merged[base + 1 + type.id()]);
+            }
+            for (DeliveryMode mode : MODES) {
+                snapshot.put(stage.name() + "/" + mode.name(), merged[base + 1 + TYPES.length + mode.id()]);
+            }
+        }
+        return snapshot;
+    }
+
+    public static void reset() {
+        retireDeadThreads();
+        synchronized (retired) {
+            retired.clear();
+        }
+        for (ThreadBuffer buffer : buffers) {
+            synchronized (buffer) {
+                buffer.clear();
+            }
+        }
+    }
+
+    public static synchronized void startDumps(long intervalMillis) {
+        stopDumps();
+        dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> Events.info("Metrics", "Stage latencies\n", snapshot()),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void stopDumps() {
+        if (dumper != null) {
+            dumper.shutdown();
+            dumper = null;
+        }
+    }
+
+    private static void retireDeadThreads() {
+        for (ThreadBuffer buffer : buffers) {
+            if (buffer.isOwnerAlive()) {
+                continue;
+            }
+            synchronized (retired) {
+                if (buffers.remove(buffer)) {
+                    retired.merge(buffer);
+                }
+            }
+        }
+    }
+
+    private static final class ThreadBuffer {
+        private final LatencyHistogram[] histograms = new LatencyHistogram[LatencyStage.values().length * PER_STAGE];
+        private final WeakReference<Thread> owner;
+
+        ThreadBuffer(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        boolean isOwnerAlive() {
+            Thread thread = owner.get();
+            return thread != null && thread.isAlive();
+        }
+
+        void record(int index, long value) {
+            LatencyHistogram histogram = histograms[index];
+            if (histogram == null) {
+                histogram = new LatencyHistogram();
+                histograms[index] = histogram;
+            }
+            histogram.record(value);
+        }
+
+        void merge(ThreadBuffer other) {
+            for (int i = 0; i < histograms.length; i++) {
+                if (other.histograms[i] != null) {
+                    if (histograms[i] == null) {
+                        histograms[i] = new LatencyHistogram();
+                    }
+                    histograms[i].add(other.histograms[i]);
+                }
+            }
+        }
+
+        void addTo(LatencyHistogram[] merged) {
+            for (int i = 0; i < merged.length; i++) {
+                if (histograms[i] != null) {
+                    merged[i].add(histograms[i]);
+                }
+            }
+        }
+
+        void clear() {
+            Arrays.fill(histograms, null);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package domain.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import domain.events.Events;
+import domain.order.OrderEvent;
+import domain.tracing.Span;
+import domain.tracing.Tracer;
+
+public class AsyncOrderDispatcher {
+
+    // Added to the claim counter by shutdown; any claim that lands above it
+    // came after the ring was closed and is refused.
+    private static final long CLOSED = 1L << 62;
+
+    private final int capacity;
+    private final int mask;
+    // Preallocated; publish copies into the slot instead of allocating.
+    private final OrderEvent[] slots;
+    private final Span[] traces;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final WaitStrategy waitStrategy;
+    private final int maxBatchSize;
+    private final List<Consumer> consumers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running = true;
+    private volatile long lastSequence = Long.MAX_VALUE;
+
+    public AsyncOrderDispatcher(int capacity, WaitStrategy waitStrategy) {
+        this(capacity, waitStrategy, 256);
+    }
+
+    // Batch observers receive every contiguous published order, up to
+    // maxBatchSize, in one call.
+    public AsyncOrderDispatcher(int capacity, WaitStrategy waitStrategy, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+        }
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new OrderEvent[capacity];
+        this.traces = new Span[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.waitStrategy = waitStrategy;
+        this.maxBatchSize = maxBatchSize;
+
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new OrderEvent();
+            published.set(i, -1);
+        }
+    }
+
+    public void addObserver(OrderObserver observer) {
+        addObserver(observer, OrderFilter.all());
+    }
+
+    // Non-matching events are skipped on the consumer's own thread, so
+    // filters never slow the publisher down.
+    public void addObserver(OrderObserver observer, OrderFilter filter) {
+        if (!running) {
+            throw new IllegalStateException("Dispatcher is shut down");
+        }
+        Consumer consumer = new Consumer(observer, filter, claimed.get());
+        consumers.add(consumer);
+        consumer.thread.start();
+    }
+
+    // The consumer stops at its next event; it keeps holding back the ring
+    // until its thread has left the observer and removed itself.
+    public boolean removeObserver(OrderObserver observer) {
+        for (Consumer consumer : consumers) {
+            if (consumer.observer == observer && consumer.active) {
+                consumer.active = false;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean publish(OrderEvent event) {
+        if (!running) {
+            return false;
+        }
+        long sequence = claimed.incrementAndGet();
+        if (sequence >= CLOSED) {
+            return false;
+        }
+        long wrapPoint = sequence - capacity;
+
+        // Backpressure: wait until the slowest consumer has freed the slot.
+        int attempts = 0;
+        while (wrapPoint > minConsumerSequence()) {
+            waitStrategy.idle(attempts++);
+        }
+
+        int index = (int) (sequence & mask);
+        slots[index].copyFrom(event);
+        traces[index] = Tracer.currentSpan();
+        published.set(index, sequence);
+        return true;
+    }
+
+    public long getLag(OrderObserver observer) {
+        for (Consumer consumer : consumers) {
+            if (consumer.observer == observer) {
+                return Math.min(claimed.get(), lastSequence) - consumer.sequence.get();
+            }
+        }
+        return 0;
+    }
+
+    // Closing the claim counter and recording the last sequence in one step
+    // means every accepted publish is delivered before the consumers exit.
+    public void shutdown() throws InterruptedException {
+        synchronized (this) {
+            if (running) {
+                running = false;
+                lastSequence = claimed.getAndAdd(CLOSED);
+            }
+        }
+        for (Consumer consumer : consumers) {
+            consumer.thread.join();
+        }
+    }
+
+    private long minConsumerSequence() {
+        long min = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            min = Math.min(min, consumer.sequence.get());
+        }
+        return min;
+    }
+
+    private final class Consumer implements Runnable {
+        private final OrderObserver observer;
+        private final OrderFilter filter;
+        private final BatchOrderObserver batchObserver;
+        private final List<OrderEvent> batch;
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private volatile boolean active = true;
+
+        Consumer(OrderObserver observer, OrderFilter filter, long startSequence) {
+            this.observer = observer;
+            this.filter = filter;
+            this.batchObserver = observer instanceof BatchOrderObserver ? (BatchOrderObserver) observer : null;
+            this.batch = batchObserver != null ? new ArrayList<>(maxBatchSize) : null;
+            this.sequence = new AtomicLong(startSequence);
+            this.thread = new Thread(this, "order-dispatch-" + observer.getClass().getSimpleName());
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                consume();
+            } finally {
+                consumers.remove(this);
+            }
+        }
+
+        private void consume() {
+            long next = sequence.get() + 1;
+            int attempts = 0;
+
+            while (active && next <= lastSequence) {
+                int index = (int) (next & mask);
+                if (batchObserver != null && published.get(index) == next) {
+                    next = deliverBatch(next) + 1;
+                    attempts = 0;
+                } else if (published.get(index) == next) {
+                    if (filter.matches(slots[index])) {
+                        deliver(index);
+                    }
+                    sequence.set(next);
+                    next++;
+                    attempts = 0;
+                } else {
+                    waitStrategy.idle(attempts++);
+                }
+            }
+        }
+
+        private void deliver(int index) {
+            try (Span span = Tracer.startSpan("observer.notify", traces[index])) {
+                if (span.isSampled()) {
+                    span.setAttribute("observer", observer.getClass().getSimpleName());
+                }
+                observer.onOrder(slots[index]);
+            } catch (RuntimeException e) {
+                Events.warn("Dispatcher", "Observer failed: ", e.getMessage());
+            }
+        }
+
+        // Drains what is already published without waiting for more, so a
+        // batch never adds latency; returns the last sequence delivered.
+        private long deliverBatch(long first) {
+            long last = first;
+            addIfMatching(slots[(int) (first & mask)]);
+            while (last - first + 1 < maxBatchSize && published.get((int) ((last + 1) & mask)) == last + 1) {
+                last++;
+                addIfMatching(slots[(int) (last & mask)]);
+            }
+            if (batch.isEmpty()) {
+                sequence.set(last);
+                return last;
+            }
+            try (Span span = Tracer.startSpan("observer.notifyBatch", traces[(int) (first & mask)])) {
+                if (span.isSampled()) {
+                    span.setAttribute("observer", observer.getClass().getSimpleName());
+                    span.setAttribute("batch.size", batch.size());
+                }
+                batchObserver.onOrders(batch);
+            } catch (RuntimeException e) {
+                Events.warn("Dispatcher", "Observer failed: ", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+            sequence.set(last);
+            return last;
+        }
+
+        private void addIfMatching(OrderEvent event) {
+            if (filter.matches(event)) {
+                batch.add(event);
+            }
+        }
+    }
+}
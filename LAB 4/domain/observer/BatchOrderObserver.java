@@ -0,0 +1,60 @@
+package domain.observer;
+
+import domain.order.OrderEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Opt-in bulk contract: dispatchers that can coalesce hand these observers a
+// whole list at once; anywhere else they are still plain OrderObservers.
+// The list and its events are only valid for the duration of the call.
+public interface BatchOrderObserver extends OrderObserver {
+
+    void onOrdersAdded(List<String> orderNames);
+
+    default void onOrders(List<OrderEvent> events) {
+        List<String> names = new ArrayList<>(events.size());
+        for (OrderEvent event : events) {
+            names.add(event.getName());
+        }
+        onOrdersAdded(names);
+    }
+
+    @Override
+    default void onOrderAdded(String orderName) {
+        onOrdersAdded(Collections.singletonList(orderName));
+    }
+
+    // Lets a per-order observer sit behind anything that delivers batches.
+    static BatchOrderObserver adapt(OrderObserver observer) {
+        if (observer instanceof BatchOrderObserver) {
+            return (BatchOrderObserver) observer;
+        }
+        return new BatchOrderObserver() {
+            @Override
+            public void onOrdersAdded(List<String> orderNames) {
+                for (String orderName : orderNames) {
+                    observer.onOrderAdded(orderName);
+                }
+            }
+
+            @Override
+            public void onOrders(List<OrderEvent> events) {
+                for (OrderEvent event : events) {
+                    observer.onOrder(event);
+                }
+            }
+
+            @Override
+            public void onOrderAdded(String orderName) {
+                observer.onOrderAdded(orderName);
+            }
+
+            @Override
+            public void onOrder(OrderEvent event) {
+                observer.onOrder(event);
+            }
+        };
+    }
+}
@@ -1,8 +1,21 @@
 package domain.observer;
 
-public class BillingObserver implements OrderObserver {
+import domain.events.Events;
+
+import java.util.List;
+
+public class BillingObserver implements BatchOrderObserver {
     @Override
     public void onOrderAdded(String orderName) {
-        System.out.println("[Billing] Registering order for billing: " + orderName);
+        Events.info("Billing", "Registering order for billing: ", orderName);
+    }
+
+    @Override
+    public void onOrdersAdded(List<String> orderNames) {
+        if (orderNames.size() == 1) {
+            onOrderAdded(orderNames.get(0));
+            return;
+        }
+        Events.info("Billing", "Registering ", orderNames.size(), " orders for billing");
     }
 }
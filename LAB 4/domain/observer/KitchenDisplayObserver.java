@@ -1,8 +1,10 @@
 package domain.observer;
 
+import domain.events.Events;
+
 public class KitchenDisplayObserver implements OrderObserver {
     @Override
     public void onOrderAdded(String orderName) {
-        System.out.println("[Kitchen] New order received: " + orderName);
+        Events.info("Kitchen", "New order received: ", orderName);
     }
 }
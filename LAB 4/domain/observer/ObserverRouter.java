@@ -0,0 +1,132 @@
+package domain.observer;
+
+import domain.order.DeliveryMode;
+import domain.order.OrderEvent;
+import domain.order.PizzaType;
+import domain.order.Topping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compiles observer subscriptions into a table indexed by
+// (pizza type, delivery mode, topping mask), so routing an event is one
+// array load and then a walk over only the observers that want it.
+// Subscribing rebuilds the table copy-on-write; routing never locks.
+public class ObserverRouter {
+
+    private static final int TOPPING_BITS = Topping.values().length;
+    private static final int TOPPING_COMBINATIONS = 1 << TOPPING_BITS;
+    private static final int ALL_TOPPINGS = TOPPING_COMBINATIONS - 1;
+    private static final int TYPES = PizzaType.MAX_TYPES;
+    private static final int MODES = DeliveryMode.values().length;
+    private static final OrderObserver[] NONE = new OrderObserver[0];
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private volatile OrderObserver[][] table = emptyTable();
+
+    public synchronized void subscribe(OrderObserver observer, OrderFilter filter) {
+        subscriptions.add(new Subscription(observer, filter));
+        table = compile(subscriptions);
+    }
+
+    public synchronized boolean unsubscribe(OrderObserver observer) {
+        boolean removed = subscriptions.removeIf(subscription -> subscription.observer == observer);
+        if (removed) {
+            table = compile(subscriptions);
+        }
+        return removed;
+    }
+
+    public OrderObserver[] route(OrderEvent event) {
+        return route(event.getTypeId(), event.getToppingMask(), event.getModeId());
+    }
+
+    // Observers in subscription order; the array is shared, do not modify it.
+    public OrderObserver[] route(int typeId, int toppingMask, int modeId) {
+        return table[index(typeId, modeId, toppingMask)];
+    }
+
+    public synchronized List<Subscription> getSubscriptions() {
+        return Collections.unmodifiableList(new ArrayList<>(subscriptions));
+    }
+
+    private static int index(int typeId, int modeId, int toppingMask) {
+        return (typeId * MODES + modeId) << TOPPING_BITS | (toppingMask & ALL_TOPPINGS);
+    }
+
+    private static OrderObserver[][] emptyTable() {
+        OrderObserver[][] empty = new OrderObserver[TYPES * MODES * TOPPING_COMBINATIONS][];
+        Arrays.fill(empty, NONE);
+        return empty;
+    }
+
+    private static OrderObserver[][] compile(List<Subscription> subscriptions) {
+        List<List<OrderObserver>> cells = new ArrayList<>(Collections.nCopies(TYPES * MODES * TOPPING_COMBINATIONS, null));
+
+        for (Subscription subscription : subscriptions) {
+            OrderFilter filter = subscription.filter;
+            int required = filter.getRequiredToppings() & ALL_TOPPINGS;
+            int free = ALL_TOPPINGS & ~required & ~filter.getExcludedToppings();
+
+            for (int type = 0; type < TYPES; type++) {
+                if (!filter.matchesType(type)) {
+                    continue;
+                }
+                for (int mode = 0; mode < MODES; mode++) {
+                    if (!filter.matchesMode(mode)) {
+                        continue;
+                    }
+                    // Enumerate only the topping masks the filter can accept:
+                    // the required bits plus every subset of the free ones.
+                    int subset = free;
+                    while (true) {
+                        int toppings = required | subset;
+                        if (filter.matchesToppings(toppings)) {
+                            int index = index(type, mode, toppings);
+                            if (cells.get(index) == null) {
+                                cells.set(index, new ArrayList<>(2));
+                            }
+                            cells.get(index).add(subscription.observer);
+                        }
+                        if (subset == 0) {
+                            break;
+                        }
+                        subset = (subset - 1) & free;
+                    }
+                }
+            }
+        }
+
+        // Most cells share a handful of observer sets; intern the arrays so
+        // the table stays small and cache-friendly.
+        Map<List<OrderObserver>, OrderObserver[]> interned = new HashMap<>();
+        OrderObserver[][] compiled = new OrderObserver[cells.size()][];
+        for (int i = 0; i < compiled.length; i++) {
+            List<OrderObserver> cell = cells.get(i);
+            compiled[i] = cell == null ? NONE : interned.computeIfAbsent(cell, list -> list.toArray(NONE));
+        }
+        return compiled;
+    }
+
+    public static final class Subscription {
+        private final OrderObserver observer;
+        private final OrderFilter filter;
+
+        Subscription(OrderObserver observer, OrderFilter filter) {
+            this.observer = observer;
+            this.filter = filter;
+        }
+
+        public OrderObserver getObserver() {
+            return observer;
+        }
+
+        public OrderFilter getFilter() {
+            return filter;
+        }
+    }
+}
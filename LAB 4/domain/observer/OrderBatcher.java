@@ -0,0 +1,237 @@
+package domain.observer;
+
+import domain.events.Events;
+import domain.order.OrderEvent;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Coalesces per-order notifications for a BatchOrderObserver: a batch goes
+// out when it reaches maxBatchSize or when its oldest order is maxDelayMillis
+// old, whichever comes first. Events are copied into preallocated buffers
+// that are recycled after delivery; a buffer is never filled while its batch
+// is being delivered.
+public class OrderBatcher implements BatchOrderObserver {
+
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-batch-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BatchOrderObserver target;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final Runnable onShutdown;
+    private final Object deliveryLock = new Object();
+
+    // Guarded by this: the buffer being filled, sealed batches waiting for
+    // delivery, and emptied buffers ready for reuse.
+    private EventBuffer pending;
+    private final ArrayDeque<EventBuffer> ready = new ArrayDeque<>();
+    private final ArrayDeque<EventBuffer> free = new ArrayDeque<>();
+    private ScheduledFuture<?> deadline;
+    private boolean shutdown;
+
+    // Guarded by deliveryLock; set while this batcher is inside the target.
+    private boolean delivering;
+
+    public OrderBatcher(BatchOrderObserver target, int maxBatchSize, long maxDelayMillis) {
+        this(target, maxBatchSize, maxDelayMillis, () -> { });
+    }
+
+    // onShutdown runs once, before the final flush; OrderManager uses it to
+    // unsubscribe the batcher so closed batchers do not pile up as observers.
+    public OrderBatcher(BatchOrderObserver target, int maxBatchSize, long maxDelayMillis, Runnable onShutdown) {
+        if (maxBatchSize < 1 || maxDelayMillis < 0) {
+            throw new IllegalArgumentException("Invalid batch bounds: " + maxBatchSize + " orders, " + maxDelayMillis + " ms");
+        }
+        this.target = target;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.onShutdown = onShutdown;
+        this.pending = new EventBuffer(maxBatchSize);
+        this.free.push(new EventBuffer(maxBatchSize));
+    }
+
+    // A producer that finds the buffer already full, because another one
+    // filled it and has not flushed yet, delivers it first and then retries.
+    // An order that races shutdown is dropped: the batcher has already left
+    // the manager, and the order itself is recorded either way.
+    @Override
+    public void onOrder(OrderEvent event) {
+        boolean added = false;
+        while (!added) {
+            boolean flushNow;
+            synchronized (this) {
+                if (shutdown) {
+                    return;
+                }
+                if (pending.size() < maxBatchSize) {
+                    pending.add(event);
+                    added = true;
+                    armDeadline(pending.size() >= maxBatchSize);
+                }
+                flushNow = pending.size() >= maxBatchSize || maxDelayMillis == 0;
+            }
+            if (flushNow) {
+                flush();
+            }
+        }
+    }
+
+    @Override
+    public void onOrders(List<OrderEvent> events) {
+        int from = 0;
+        while (from < events.size()) {
+            boolean full;
+            synchronized (this) {
+                if (shutdown) {
+                    return;
+                }
+                int to = Math.min(events.size(), from + maxBatchSize - pending.size());
+                while (from < to) {
+                    pending.add(events.get(from++));
+                }
+                full = pending.size() >= maxBatchSize;
+                armDeadline(full);
+            }
+            if (full || maxDelayMillis == 0) {
+                flush();
+            }
+        }
+    }
+
+    // Untyped notifications cannot be buffered as events; they go straight
+    // through, after whatever is already pending.
+    @Override
+    public void onOrdersAdded(List<String> orderNames) {
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+        }
+        synchronized (deliveryLock) {
+            flush();
+            target.onOrdersAdded(orderNames);
+        }
+    }
+
+    public void flush() {
+        // Sealing under the buffer lock keeps producers fast; the delivery
+        // lock keeps batches in order when the timer and a producer race.
+        synchronized (deliveryLock) {
+            synchronized (this) {
+                seal();
+            }
+            // An observer that places an order from inside onOrders lands
+            // here on the same thread; its batch waits for the loop below.
+            if (delivering) {
+                return;
+            }
+            delivering = true;
+            try {
+                while (true) {
+                    EventBuffer batch;
+                    synchronized (this) {
+                        batch = ready.poll();
+                    }
+                    if (batch == null) {
+                        return;
+                    }
+                    try {
+                        target.onOrders(batch);
+                    } finally {
+                        batch.reset();
+                        synchronized (this) {
+                            free.push(batch);
+                        }
+                    }
+                }
+            } finally {
+                delivering = false;
+            }
+        }
+    }
+
+    public void shutdown() {
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+        }
+        onShutdown.run();
+        flush();
+    }
+
+    private void seal() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        ready.add(pending);
+        EventBuffer next = free.poll();
+        pending = next != null ? next : new EventBuffer(maxBatchSize);
+        if (deadline != null) {
+            deadline.cancel(false);
+            deadline = null;
+        }
+    }
+
+    // The time bound starts with the first order of a batch.
+    private void armDeadline(boolean full) {
+        if (!full && deadline == null && maxDelayMillis > 0) {
+            deadline = timer.schedule(this::flushQuietly, maxDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            Events.warn("Batcher", "Observer failed: ", e.getMessage());
+        }
+    }
+
+    private static final class EventBuffer extends AbstractList<OrderEvent> implements RandomAccess {
+        private final OrderEvent[] events;
+        private int size;
+
+        EventBuffer(int capacity) {
+            events = new OrderEvent[capacity];
+            for (int i = 0; i < capacity; i++) {
+                events[i] = new OrderEvent();
+            }
+        }
+
+        // Callers check the size first; the buffer never grows.
+        @Override
+        public boolean add(OrderEvent event) {
+            events[size++].copyFrom(event);
+            return true;
+        }
+
+        @Override
+        public OrderEvent get(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return events[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        void reset() {
+            size = 0;
+        }
+    }
+}
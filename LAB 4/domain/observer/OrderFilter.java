@@ -0,0 +1,89 @@
+package domain.observer;
+
+import domain.order.DeliveryMode;
+import domain.order.OrderEvent;
+import domain.order.PizzaType;
+import domain.order.Topping;
+
+// Immutable subscription predicate over pizza type, toppings and delivery
+// mode. Each builder call returns a narrowed copy.
+public final class OrderFilter {
+
+    private static final OrderFilter ALL = new OrderFilter(-1, 0, 0, 0, -1);
+
+    private final int typeMask;
+    private final int requiredToppings;
+    private final int excludedToppings;
+    private final int minToppings;
+    private final int modeMask;
+
+    private OrderFilter(int typeMask, int requiredToppings, int excludedToppings, int minToppings, int modeMask) {
+        this.typeMask = typeMask;
+        this.requiredToppings = requiredToppings;
+        this.excludedToppings = excludedToppings;
+        this.minToppings = minToppings;
+        this.modeMask = modeMask;
+    }
+
+    public static OrderFilter all() {
+        return ALL;
+    }
+
+    public OrderFilter types(PizzaType... types) {
+        int mask = 0;
+        for (PizzaType type : types) {
+            mask |= 1 << type.id();
+        }
+        return new OrderFilter(typeMask & mask, requiredToppings, excludedToppings, minToppings, modeMask);
+    }
+
+    public OrderFilter withTopping(Topping topping) {
+        return new OrderFilter(typeMask, requiredToppings | topping.mask(), excludedToppings, minToppings, modeMask);
+    }
+
+    public OrderFilter withoutTopping(Topping topping) {
+        return new OrderFilter(typeMask, requiredToppings, excludedToppings | topping.mask(), minToppings, modeMask);
+    }
+
+    public OrderFilter minToppings(int count) {
+        return new OrderFilter(typeMask, requiredToppings, excludedToppings, Math.max(minToppings, count), modeMask);
+    }
+
+    public OrderFilter modes(DeliveryMode... modes) {
+        int mask = 0;
+        for (DeliveryMode mode : modes) {
+            mask |= 1 << mode.id();
+        }
+        return new OrderFilter(typeMask, requiredToppings, excludedToppings, minToppings, modeMask & mask);
+    }
+
+    public boolean matches(OrderEvent event) {
+        return matches(event.getTypeId(), event.getToppingMask(), event.getModeId());
+    }
+
+    public boolean matchesType(int typeId) {
+        return (typeMask & (1 << typeId)) != 0;
+    }
+
+    public boolean matchesMode(int modeId) {
+        return (modeMask & (1 << modeId)) != 0;
+    }
+
+    public boolean matchesToppings(int toppingMask) {
+        return (toppingMask & requiredToppings) == requiredToppings
+                && (toppingMask & excludedToppings) == 0
+                && Integer.bitCount(toppingMask) >= minToppings;
+    }
+
+    public boolean matches(int typeId, int toppingMask, int modeId) {
+        return matchesType(typeId) && matchesMode(modeId) && matchesToppings(toppingMask);
+    }
+
+    int getRequiredToppings() {
+        return requiredToppings;
+    }
+
+    int getExcludedToppings() {
+        return excludedToppings;
+    }
+}
@@ -1,5 +1,13 @@
 package domain.observer;
 
+import domain.order.OrderEvent;
+
 public interface OrderObserver {
     void onOrderAdded(String orderName);
+
+    // Typed entry point used by the dispatchers. The event is reused after
+    // this returns; observers that override this should not keep it.
+    default void onOrder(OrderEvent event) {
+        onOrderAdded(event.getName());
+    }
 }
@@ -0,0 +1,39 @@
+package domain.observer;
+
+import java.util.concurrent.locks.LockSupport;
+
+public enum WaitStrategy {
+
+    BUSY_SPIN {
+        @Override
+        public void idle(int attempts) {
+            Thread.onSpinWait();
+        }
+    },
+
+    YIELDING {
+        @Override
+        public void idle(int attempts) {
+            if (attempts < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+
+    SLEEPING {
+        @Override
+        public void idle(int attempts) {
+            if (attempts < 100) {
+                Thread.onSpinWait();
+            } else if (attempts < 200) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(100_000);
+            }
+        }
+    };
+
+    public abstract void idle(int attempts);
+}
@@ -0,0 +1,17 @@
+package domain.order;
+
+public enum DeliveryMode {
+    PICKUP,
+    BIKE,
+    CAR;
+
+    private static final DeliveryMode[] VALUES = values();
+
+    public int id() {
+        return ordinal();
+    }
+
+    public static DeliveryMode fromId(int id) {
+        return VALUES[id];
+    }
+}
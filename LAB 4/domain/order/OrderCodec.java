@@ -0,0 +1,170 @@
+package domain.order;
+
+import domain.Barbeque;
+import domain.Margherita;
+import domain.Pizza;
+import domain.Rancho;
+import domain.builder.CustomPizza;
+import domain.decorators.PizzaDecorator;
+import domain.decorators.ToppedPizza;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public final class OrderCodec {
+
+    private static final String[] typeNames = new String[PizzaType.MAX_TYPES];
+    private static final int[] bakeTemperatures = new int[PizzaType.MAX_TYPES];
+    // Copy-on-write; read on every order.
+    private static volatile Map<Class<?>, Integer> menuTypes = Map.of();
+    // Ids go to menu names, not classes: a name keeps its id for the life of
+    // the process, whichever menu or journal brought it in first.
+    private static final Map<String, Integer> menuTypeIds = new HashMap<>();
+    private static int nextTypeId = PizzaType.values().length;
+
+    static {
+        for (PizzaType type : PizzaType.values()) {
+            typeNames[type.id()] = type.getDisplayName();
+            bakeTemperatures[type.id()] = type.getBakeTemperature();
+        }
+    }
+
+    private OrderCodec() {
+    }
+
+    public static PizzaType typeOf(Pizza pizza) {
+        return PizzaType.fromId(typeIdOf(pizza));
+    }
+
+    public static int typeIdOf(Pizza pizza) {
+        Pizza base = unwrap(pizza);
+        int builtIn = builtInTypeId(base);
+        if (builtIn != PizzaType.UNKNOWN.id()) {
+            return builtIn;
+        }
+        Integer id = base == null ? null : menuTypes.get(base.getClass());
+        return id != null ? id : PizzaType.UNKNOWN.id();
+    }
+
+    public static int bakeTemperatureOf(Pizza pizza) {
+        return bakeTemperatures[typeIdOf(pizza)];
+    }
+
+    public static int bakeTemperature(int typeId) {
+        return bakeTemperatures[typeId];
+    }
+
+    public static String typeName(int typeId) {
+        return typeNames[typeId];
+    }
+
+    // Binds a menu pizza's class to the type id of its menu name and sets
+    // that type's temperature. Built-in pizzas keep their type.
+    public static synchronized int registerType(Pizza pizza, String name, int bakeTemperature) {
+        Pizza base = unwrap(pizza);
+        int builtIn = builtInTypeId(base);
+        if (builtIn != PizzaType.UNKNOWN.id()) {
+            return builtIn;
+        }
+        int id = typeIdForName(name);
+        bakeTemperatures[id] = bakeTemperature;
+
+        Map<Class<?>, Integer> updated = new HashMap<>(menuTypes);
+        updated.put(base.getClass(), id);
+        menuTypes = updated;
+        return id;
+    }
+
+    // All of a menu's pizzas or none: if the names not seen before do not
+    // fit in the ids left, nothing is registered.
+    public static synchronized int[] registerTypes(Pizza[] pizzas, String[] names, int[] bakeTemperatures) {
+        Set<String> added = new HashSet<>();
+        for (int i = 0; i < pizzas.length; i++) {
+            if (builtInTypeId(unwrap(pizzas[i])) == PizzaType.UNKNOWN.id() && !menuTypeIds.containsKey(names[i])) {
+                added.add(names[i]);
+            }
+        }
+        if (nextTypeId + added.size() > PizzaType.MAX_TYPES) {
+            throw new IllegalStateException("No pizza type ids left for " + added);
+        }
+
+        int[] ids = new int[pizzas.length];
+        for (int i = 0; i < pizzas.length; i++) {
+            ids[i] = registerType(pizzas[i], names[i], bakeTemperatures[i]);
+        }
+        return ids;
+    }
+
+    // The id orders of the named menu type are recorded under, handed out
+    // on first use; journal recovery uses it to map journalled ids by name.
+    public static synchronized int typeIdForName(String name) {
+        Integer id = menuTypeIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (nextTypeId == PizzaType.MAX_TYPES) {
+            throw new IllegalStateException("No pizza type id left for " + name);
+        }
+        id = nextTypeId++;
+        typeNames[id] = name;
+        bakeTemperatures[id] = PizzaType.UNKNOWN.getBakeTemperature();
+        menuTypeIds.put(name, id);
+        return id;
+    }
+
+    public static int toppingMask(Pizza pizza) {
+        int mask = 0;
+        while (true) {
+            if (pizza instanceof ToppedPizza) {
+                ToppedPizza topped = (ToppedPizza) pizza;
+                mask |= topped.getToppingMask();
+                pizza = topped.getBasePizza();
+            } else if (pizza instanceof PizzaDecorator) {
+                PizzaDecorator decorator = (PizzaDecorator) pizza;
+                Topping topping = decorator.getTopping();
+                if (topping != null) {
+                    mask |= topping.mask();
+                }
+                pizza = decorator.getBasePizza();
+            } else if (pizza instanceof CustomPizza) {
+                return mask | ((CustomPizza) pizza).getToppingMask();
+            } else {
+                return mask;
+            }
+        }
+    }
+
+    public static String nameOf(Pizza pizza) {
+        return describe(typeIdOf(pizza), toppingMask(pizza));
+    }
+
+    public static String describe(int typeId, int toppingMask) {
+        String name = typeNames[typeId];
+        if (toppingMask == 0) {
+            return name;
+        }
+        return name + " + " + Topping.describe(toppingMask);
+    }
+
+    private static int builtInTypeId(Pizza base) {
+        if (base instanceof Margherita) return PizzaType.MARGHERITA.id();
+        if (base instanceof Rancho) return PizzaType.RANCHO.id();
+        if (base instanceof Barbeque) return PizzaType.BARBEQUE.id();
+        if (base instanceof CustomPizza) return PizzaType.CUSTOM.id();
+        return PizzaType.UNKNOWN.id();
+    }
+
+    private static Pizza unwrap(Pizza pizza) {
+        while (true) {
+            if (pizza instanceof ToppedPizza) {
+                pizza = ((ToppedPizza) pizza).getBasePizza();
+            } else if (pizza instanceof PizzaDecorator) {
+                pizza = ((PizzaDecorator) pizza).getBasePizza();
+            } else {
+                return pizza;
+            }
+        }
+    }
+}
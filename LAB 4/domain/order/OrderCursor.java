@@ -0,0 +1,70 @@
+package domain.order;
+
+public final class OrderCursor {
+
+    enum Driver {
+        TYPE,
+        TIME,
+        TOPPING,
+        SCAN
+    }
+
+    final OrderStore store;
+    final OrderQuery query;
+    final Driver driver;
+    final int driverArg;
+
+    long lastKey;
+    long lastId = -1;
+    boolean exhausted;
+
+    long orderId;
+    int typeId;
+    int toppingMask;
+    long timestamp;
+    int modeId;
+
+    OrderCursor(OrderStore store, OrderQuery query, Driver driver, int driverArg) {
+        this.store = store;
+        this.query = query;
+        this.driver = driver;
+        this.driverArg = driverArg;
+        this.lastKey = driver == Driver.TIME ? query.getFromMillis() : -1;
+    }
+
+    public boolean next() {
+        return store.advance(this);
+    }
+
+    public long count() {
+        long count = 0;
+        while (next()) {
+            count++;
+        }
+        return count;
+    }
+
+    public long orderId() {
+        return orderId;
+    }
+
+    public int typeId() {
+        return typeId;
+    }
+
+    public PizzaType type() {
+        return PizzaType.fromId(typeId);
+    }
+
+    public int toppingMask() {
+        return toppingMask;
+    }
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    public DeliveryMode mode() {
+        return DeliveryMode.fromId(modeId);
+    }
+}
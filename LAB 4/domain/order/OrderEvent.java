@@ -0,0 +1,80 @@
+package domain.order;
+
+// What was ordered, as primitives. Dispatchers reuse event instances, so an
+// event is only valid for the duration of the callback that receives it;
+// call copy() to keep one.
+public final class OrderEvent {
+
+    private long orderId;
+    private int typeId;
+    private int toppingMask;
+    private long timestamp;
+    private int modeId;
+    private String name;
+
+    public OrderEvent set(long orderId, int typeId, int toppingMask, long timestamp, int modeId) {
+        this.orderId = orderId;
+        this.typeId = typeId;
+        this.toppingMask = toppingMask;
+        this.timestamp = timestamp;
+        this.modeId = modeId;
+        this.name = null;
+        return this;
+    }
+
+    public OrderEvent copyFrom(OrderEvent other) {
+        return set(other.orderId, other.typeId, other.toppingMask, other.timestamp, other.modeId);
+    }
+
+    public OrderEvent copy() {
+        return new OrderEvent().copyFrom(this);
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public int getTypeId() {
+        return typeId;
+    }
+
+    public PizzaType getType() {
+        return PizzaType.fromId(typeId);
+    }
+
+    public int getToppingMask() {
+        return toppingMask;
+    }
+
+    public boolean hasTopping(Topping topping) {
+        return (toppingMask & topping.mask()) != 0;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getModeId() {
+        return modeId;
+    }
+
+    public DeliveryMode getMode() {
+        return DeliveryMode.fromId(modeId);
+    }
+
+    // Built on first use, so observers that only read the fields never pay
+    // for the string. Racing readers may both build it; the result is equal.
+    public String getName() {
+        String cached = name;
+        if (cached == null) {
+            cached = OrderCodec.describe(typeId, toppingMask);
+            name = cached;
+        }
+        return cached;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + orderId + " " + getName() + " (" + getMode() + ")";
+    }
+}
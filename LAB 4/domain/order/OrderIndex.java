@@ -0,0 +1,72 @@
+package domain.order;
+
+import java.util.BitSet;
+
+final class OrderIndex {
+
+    private static final int BITMAP_COMPACT_THRESHOLD = 1 << 16;
+
+    private final PostingList[] byType = new PostingList[PizzaType.MAX_TYPES];
+    private final PostingList byTime = new PostingList();
+    private final BitSet[] byTopping = new BitSet[Topping.values().length];
+    private final int[] toppingCounts = new int[Topping.values().length];
+    private long bitmapBase;
+
+    OrderIndex() {
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new PostingList();
+        }
+        for (int i = 0; i < byTopping.length; i++) {
+            byTopping[i] = new BitSet();
+        }
+    }
+
+    void add(long orderId, int typeId, int toppingMask, long timestamp) {
+        byType[typeId].add(orderId, orderId);
+        byTime.add(timestamp, orderId);
+        for (int t = 0; t < byTopping.length; t++) {
+            if ((toppingMask & (1 << t)) != 0) {
+                byTopping[t].set((int) (orderId - bitmapBase));
+                toppingCounts[t]++;
+            }
+        }
+    }
+
+    void evict(long orderId, int typeId, int toppingMask) {
+        byType[typeId].trim(orderId + 1);
+        byTime.trim(orderId + 1);
+        for (int t = 0; t < byTopping.length; t++) {
+            if ((toppingMask & (1 << t)) != 0) {
+                byTopping[t].clear((int) (orderId - bitmapBase));
+                toppingCounts[t]--;
+            }
+        }
+
+        long shift = orderId + 1 - bitmapBase;
+        if (shift >= BITMAP_COMPACT_THRESHOLD) {
+            for (int t = 0; t < byTopping.length; t++) {
+                BitSet bits = byTopping[t];
+                byTopping[t] = bits.get((int) shift, Math.max((int) shift, bits.length()));
+            }
+            bitmapBase += shift;
+        }
+    }
+
+    PostingList typeList(int typeId) {
+        return byType[typeId];
+    }
+
+    PostingList timeList() {
+        return byTime;
+    }
+
+    int toppingCount(int toppingOrdinal) {
+        return toppingCounts[toppingOrdinal];
+    }
+
+    long nextWithTopping(int toppingOrdinal, long fromOrderId) {
+        int from = (int) Math.max(0, fromOrderId - bitmapBase);
+        int bit = byTopping[toppingOrdinal].nextSetBit(from);
+        return bit < 0 ? -1 : bit + bitmapBase;
+    }
+}
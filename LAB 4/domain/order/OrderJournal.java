@@ -0,0 +1,405 @@
+package domain.order;
+
+import domain.events.Events;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class OrderJournal implements Closeable {
+
+    public enum Durability {
+        SYNC,
+        BATCHED,
+        ASYNC
+    }
+
+    private static final int RECORD_SIZE = 32;
+    private static final int CRC_OFFSET = 28;
+    private static final int MAGIC = 0x4F524452;
+    // Type record: magic, type id, part, name length, then a slice of the name.
+    private static final int TYPE_MAGIC = 0x54595045;
+    private static final int TYPE_NAME_OFFSET = 8;
+    private static final int TYPE_NAME_BYTES = CRC_OFFSET - TYPE_NAME_OFFSET;
+    private static final int MAX_TYPE_NAME_BYTES = 255 * TYPE_NAME_BYTES;
+    private static final int FIRST_MENU_TYPE = PizzaType.values().length;
+    private static final String SEGMENT_PREFIX = "orders-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    // ASYNC never makes appenders wait, but still bounds what a crash can lose.
+    private static final long ASYNC_FLUSH_INTERVAL_MILLIS = 1000;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final Durability durability;
+    private final long flushIntervalMillis;
+
+    private final byte[] scratch = new byte[RECORD_SIZE];
+    private final ByteBuffer record = ByteBuffer.wrap(scratch);
+    private final CRC32 crc = new CRC32();
+
+    private final boolean[] typesWritten = new boolean[PizzaType.MAX_TYPES];
+
+    private final List<MappedByteBuffer> unflushed = new ArrayList<>();
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private long written;
+    private long durable;
+
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public OrderJournal(Path directory, int recordsPerSegment, Durability durability,
+                        long batchIntervalMillis, OrderStore.OrderVisitor recovery) throws IOException {
+        if (recordsPerSegment <= 0) {
+            throw new IllegalArgumentException("Records per segment must be positive: " + recordsPerSegment);
+        }
+        this.directory = directory;
+        this.segmentBytes = recordsPerSegment * RECORD_SIZE;
+        this.durability = durability;
+        this.flushIntervalMillis = durability == Durability.ASYNC
+                ? Math.max(batchIntervalMillis, ASYNC_FLUSH_INTERVAL_MILLIS)
+                : batchIntervalMillis;
+
+        Files.createDirectories(directory);
+        recover(recovery);
+
+        flusher = new Thread(this::flushLoop, "order-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // An append that loses the race with close() is dropped rather than
+    // failing the caller: the journal covers orders recorded before close.
+    public void append(long orderId, int typeId, int toppingMask, long timestamp, int modeId) {
+        long sequence;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            if (typeId >= FIRST_MENU_TYPE && !typesWritten[typeId]) {
+                writeTypeName(typeId);
+                typesWritten[typeId] = true;
+            }
+
+            record.clear();
+            record.putInt(MAGIC)
+                    .putLong(orderId)
+                    .putLong(timestamp)
+                    .putInt(toppingMask)
+                    .put((byte) typeId)
+                    .put((byte) modeId)
+                    .putShort((short) 0);
+            writeRecord();
+            sequence = written;
+
+            if (durability == Durability.SYNC) {
+                notifyAll();
+            }
+        }
+
+        if (durability == Durability.SYNC) {
+            awaitDurable(sequence);
+        }
+    }
+
+    public synchronized long getWrittenCount() {
+        return written;
+    }
+
+    public synchronized long getDurableCount() {
+        return durable;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void recover(OrderStore.OrderVisitor recovery) throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files
+                    .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        RecoveredOrders recovered = new RecoveredOrders();
+        for (int i = 0; i < segments.size(); i++) {
+            MappedByteBuffer mapped = map(segments.get(i), Files.size(segments.get(i)));
+            segmentIndex = i;
+            segment = mapped;
+
+            if (!replay(mapped, recovered)) {
+                // Torn tail: anything after the first bad record is discarded.
+                for (int j = i + 1; j < segments.size(); j++) {
+                    Files.delete(segments.get(j));
+                }
+                break;
+            }
+        }
+
+        if (segment == null) {
+            segment = map(segmentPath(0), segmentBytes);
+        }
+        durable = written;
+        if (recovery != null) {
+            recovered.replayInIdOrder(recovery);
+        }
+    }
+
+    private boolean replay(MappedByteBuffer mapped, RecoveredOrders recovered) {
+        byte[] buffer = new byte[RECORD_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+
+        while (mapped.remaining() >= RECORD_SIZE) {
+            int position = mapped.position();
+            mapped.get(buffer);
+            view.clear();
+
+            crc.reset();
+            crc.update(buffer, 0, CRC_OFFSET);
+            int magic = view.getInt(0);
+            if ((magic != MAGIC && magic != TYPE_MAGIC) || view.getInt(CRC_OFFSET) != (int) crc.getValue()) {
+                mapped.position(position);
+                return false;
+            }
+            written++;
+
+            if (magic == TYPE_MAGIC) {
+                recovered.readTypeName(buffer, view);
+                continue;
+            }
+            long orderId = view.getLong(4);
+            long timestamp = view.getLong(12);
+            int toppingMask = view.getInt(20);
+            int typeId = view.get(24);
+            int modeId = view.get(25);
+            recovered.add(orderId, recovered.currentTypeId(typeId), toppingMask, timestamp, modeId);
+        }
+        return true;
+    }
+
+    private void writeRecord() {
+        crc.reset();
+        crc.update(scratch, 0, CRC_OFFSET);
+        record.putInt(CRC_OFFSET, (int) crc.getValue());
+        if (segment.remaining() < RECORD_SIZE) {
+            rollover();
+        }
+        segment.put(scratch);
+        written++;
+    }
+
+    // Menu type ids are handed out per process, so the first order of each
+    // one in this journal is preceded by the type's name, split over as
+    // many records as it needs.
+    private void writeTypeName(int typeId) {
+        byte[] name = OrderCodec.typeName(typeId).getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_TYPE_NAME_BYTES) {
+            throw new IllegalArgumentException("Pizza type name too long to journal: " + OrderCodec.typeName(typeId));
+        }
+        for (int part = 0; part * TYPE_NAME_BYTES < name.length; part++) {
+            int from = part * TYPE_NAME_BYTES;
+            record.clear();
+            record.putInt(TYPE_MAGIC)
+                    .put((byte) typeId)
+                    .put((byte) part)
+                    .putShort((short) name.length)
+                    .put(name, from, Math.min(TYPE_NAME_BYTES, name.length - from));
+            Arrays.fill(scratch, record.position(), CRC_OFFSET, (byte) 0);
+            writeRecord();
+        }
+    }
+
+    private void rollover() {
+        unflushed.add(segment);
+        segmentIndex++;
+        try {
+            segment = map(segmentPath(segmentIndex), segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll over order journal", e);
+        }
+    }
+
+    private synchronized void awaitDurable(long sequence) {
+        boolean interrupted = false;
+        while (durable < sequence && running) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            synchronized (this) {
+                try {
+                    if (durability == Durability.SYNC) {
+                        while (running && written == durable) {
+                            wait();
+                        }
+                    } else {
+                        wait(flushIntervalMillis);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            flush();
+        }
+    }
+
+    // Group commit: one force() covers every record written since the last flush.
+    private void flush() {
+        List<MappedByteBuffer> toForce;
+        MappedByteBuffer current;
+        long target;
+        synchronized (this) {
+            if (written == durable) {
+                return;
+            }
+            toForce = new ArrayList<>(unflushed);
+            unflushed.clear();
+            current = segment;
+            target = written;
+        }
+
+        for (MappedByteBuffer buffer : toForce) {
+            buffer.force();
+        }
+        current.force();
+
+        synchronized (this) {
+            if (target > durable) {
+                durable = target;
+            }
+            notifyAll();
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    // Ids are handed out before the journal lock is taken, so concurrent
+    // intake writes records slightly out of id order. They are replayed
+    // sorted; records arrive almost in order, so an insertion sort is close
+    // to linear.
+    private static final class RecoveredOrders {
+        // Journalled menu type id -> this process's id for the same name.
+        private final int[] typeIds = new int[PizzaType.MAX_TYPES];
+        private byte[] typeName;
+
+        private long[] orderIds = new long[1024];
+        private long[] timestamps = new long[1024];
+        private int[] toppingMasks = new int[1024];
+        private short[] typesAndModes = new short[1024];
+        private int size;
+
+        void add(long orderId, int typeId, int toppingMask, long timestamp, int modeId) {
+            if (size == orderIds.length) {
+                int capacity = size * 2;
+                orderIds = Arrays.copyOf(orderIds, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                toppingMasks = Arrays.copyOf(toppingMasks, capacity);
+                typesAndModes = Arrays.copyOf(typesAndModes, capacity);
+            }
+            int i = size++;
+            while (i > 0 && orderIds[i - 1] > orderId) {
+                orderIds[i] = orderIds[i - 1];
+                timestamps[i] = timestamps[i - 1];
+                toppingMasks[i] = toppingMasks[i - 1];
+                typesAndModes[i] = typesAndModes[i - 1];
+                i--;
+            }
+            orderIds[i] = orderId;
+            timestamps[i] = timestamp;
+            toppingMasks[i] = toppingMask;
+            typesAndModes[i] = (short) ((typeId & 0xFF) << 8 | (modeId & 0xFF));
+        }
+
+        RecoveredOrders() {
+            for (int i = 0; i < typeIds.length; i++) {
+                typeIds[i] = i < FIRST_MENU_TYPE ? i : PizzaType.UNKNOWN.id();
+            }
+        }
+
+        // Parts of a name are written back to back, so they arrive in order.
+        void readTypeName(byte[] buffer, ByteBuffer view) {
+            int typeId = view.get(4);
+            int part = view.get(5) & 0xFF;
+            int length = view.getShort(6) & 0xFFFF;
+            if (part == 0) {
+                typeName = new byte[length];
+            }
+            int from = part * TYPE_NAME_BYTES;
+            if (typeName == null || typeName.length != length || from >= length) {
+                return;
+            }
+            int count = Math.min(TYPE_NAME_BYTES, length - from);
+            System.arraycopy(buffer, TYPE_NAME_OFFSET, typeName, from, count);
+            if (from + count < length || typeId < FIRST_MENU_TYPE || typeId >= typeIds.length) {
+                return;
+            }
+
+            String name = new String(typeName, StandardCharsets.UTF_8);
+            typeName = null;
+            try {
+                typeIds[typeId] = OrderCodec.typeIdForName(name);
+            } catch (IllegalStateException e) {
+                Events.warn("Journal", "Recovering orders of this type as Unknown: ", name);
+                typeIds[typeId] = PizzaType.UNKNOWN.id();
+            }
+        }
+
+        int currentTypeId(int journalled) {
+            return journalled >= 0 && journalled < typeIds.length ? typeIds[journalled] : PizzaType.UNKNOWN.id();
+        }
+
+        void replayInIdOrder(OrderStore.OrderVisitor recovery) {
+            for (int i = 0; i < size; i++) {
+                recovery.visit(orderIds[i], typesAndModes[i] >>> 8 & 0xFF, toppingMasks[i],
+                        timestamps[i], typesAndModes[i] & 0xFF);
+            }
+        }
+    }
+}
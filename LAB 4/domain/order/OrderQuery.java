@@ -0,0 +1,69 @@
+package domain.order;
+
+public final class OrderQuery {
+
+    private PizzaType type;
+    private int toppingMask;
+    private long fromMillis = Long.MIN_VALUE;
+    private long toMillis = Long.MAX_VALUE;
+    private DeliveryMode mode;
+
+    private OrderQuery() {
+    }
+
+    public static OrderQuery create() {
+        return new OrderQuery();
+    }
+
+    public OrderQuery type(PizzaType type) {
+        this.type = type;
+        return this;
+    }
+
+    public OrderQuery withTopping(Topping topping) {
+        this.toppingMask |= topping.mask();
+        return this;
+    }
+
+    public OrderQuery between(long fromMillis, long toMillis) {
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        return this;
+    }
+
+    public OrderQuery since(long fromMillis) {
+        return between(fromMillis, Long.MAX_VALUE);
+    }
+
+    public OrderQuery mode(DeliveryMode mode) {
+        this.mode = mode;
+        return this;
+    }
+
+    PizzaType getType() {
+        return type;
+    }
+
+    int getToppingMask() {
+        return toppingMask;
+    }
+
+    long getFromMillis() {
+        return fromMillis;
+    }
+
+    long getToMillis() {
+        return toMillis;
+    }
+
+    boolean hasTimeRange() {
+        return fromMillis != Long.MIN_VALUE || toMillis != Long.MAX_VALUE;
+    }
+
+    boolean matches(int typeId, int mask, long timestamp, int modeId) {
+        return (type == null || type.id() == typeId)
+                && (mask & toppingMask) == toppingMask
+                && timestamp >= fromMillis && timestamp <= toMillis
+                && (mode == null || mode.id() == modeId);
+    }
+}
@@ -0,0 +1,412 @@
+package domain.order;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class OrderStore {
+
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    // Record header: written flag | void flag | mode (8 bits) | type (8 bits).
+    // A void record stands for an id the journal never saw; it is kept so ids
+    // stay positional, but no query or visitor ever returns it.
+    private static final int WRITTEN = 1 << 16;
+    private static final int VOID = 1 << 17;
+
+    // Appenders claim an id and write their record without any lock; the
+    // thread that holds the lock indexes published records in id order.
+    private final AtomicLong nextId = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final OrderIndex index = new OrderIndex();
+
+    // The chunk holding nextToIndex; nextToIndex is written before it, so a
+    // reader that sees a chunk never sees an id below its base.
+    private volatile Chunk indexChunk;
+    private volatile long nextToIndex;
+    private volatile Chunk appendChunk;
+
+    // Guarded by lock: indexed chunks still holding retained orders, oldest first.
+    private Chunk[] retained = new Chunk[16];
+    private int retainedHead;
+    private int retainedTail;
+
+    private int size;
+    private long firstOrderId;
+    private int retentionLimit;
+
+    public OrderStore(int retentionLimit) {
+        Chunk first = new Chunk(0);
+        indexChunk = first;
+        appendChunk = first;
+        retain(first);
+        setRetentionLimit(retentionLimit);
+    }
+
+    public long append(int typeId, int toppingMask, long timestamp, int modeId) {
+        long orderId = nextId.getAndIncrement();
+        write(orderId, header(typeId, modeId), toppingMask, timestamp);
+        return orderId;
+    }
+
+    // Recovery path, run before any append: keeps the id the order was
+    // journalled under. Ids must ascend; ids skipped between two restored
+    // orders were never journalled and become void records.
+    public void restore(long orderId, int typeId, int toppingMask, long timestamp, int modeId) {
+        lock.lock();
+        try {
+            indexPublished();
+            if (size == 0 && nextId.get() == nextToIndex) {
+                rebase(orderId);
+            }
+            long next = nextId.get();
+            if (orderId < next) {
+                throw new IllegalStateException("Journal order " + orderId + " does not follow " + (next - 1));
+            }
+            for (long skipped = next; skipped < orderId; skipped++) {
+                write(nextId.getAndIncrement(), WRITTEN | VOID, 0, 0);
+            }
+            write(nextId.getAndIncrement(), header(typeId, modeId), toppingMask, timestamp);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void setRetentionLimit(int retentionLimit) {
+        if (retentionLimit <= 0) {
+            throw new IllegalArgumentException("Retention limit must be positive: " + retentionLimit);
+        }
+        lock.lock();
+        try {
+            indexPublished();
+            this.retentionLimit = retentionLimit;
+            while (size > retentionLimit) {
+                evictOldest();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Orders appended concurrently show up once every lower id is written.
+    public int size() {
+        lock.lock();
+        try {
+            indexPublished();
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getFirstOrderId() {
+        lock.lock();
+        try {
+            indexPublished();
+            return firstOrderId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void forEach(OrderVisitor visitor) {
+        lock.lock();
+        try {
+            indexPublished();
+            for (long orderId = firstOrderId; orderId < nextToIndex; orderId++) {
+                Chunk chunk = chunkOf(orderId);
+                int offset = (int) (orderId - chunk.base);
+                int header = chunk.headers.get(offset);
+                if ((header & VOID) == 0) {
+                    visitor.visit(orderId, typeOf(header), chunk.toppings[offset],
+                            chunk.timestamps[offset], modeOf(header));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public OrderCursor query(OrderQuery query) {
+        lock.lock();
+        try {
+            indexPublished();
+            return plan(query);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private OrderCursor plan(OrderQuery query) {
+        OrderCursor.Driver driver = OrderCursor.Driver.SCAN;
+        int driverArg = 0;
+        long best = size;
+
+        if (query.getType() != null) {
+            driver = OrderCursor.Driver.TYPE;
+            driverArg = query.getType().id();
+            best = index.typeList(driverArg).size();
+        }
+
+        if (query.hasTimeRange()) {
+            PostingList byTime = index.timeList();
+            long inRange = query.getToMillis() == Long.MAX_VALUE
+                    ? byTime.end() - byTime.seekFrom(query.getFromMillis())
+                    : byTime.seekFrom(query.getToMillis() + 1) - byTime.seekFrom(query.getFromMillis());
+            if (inRange < best) {
+                driver = OrderCursor.Driver.TIME;
+                best = inRange;
+            }
+        }
+
+        int mask = query.getToppingMask();
+        for (Topping topping : Topping.values()) {
+            if ((mask & topping.mask()) != 0 && index.toppingCount(topping.ordinal()) < best) {
+                driver = OrderCursor.Driver.TOPPING;
+                driverArg = topping.ordinal();
+                best = index.toppingCount(topping.ordinal());
+            }
+        }
+
+        return new OrderCursor(this, query, driver, driverArg);
+    }
+
+    boolean advance(OrderCursor cursor) {
+        if (cursor.exhausted) {
+            return false;
+        }
+        lock.lock();
+        try {
+            indexPublished();
+            return advanceLocked(cursor);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean advanceLocked(OrderCursor cursor) {
+        while (true) {
+            long candidate = nextCandidate(cursor);
+            if (candidate < 0) {
+                cursor.exhausted = true;
+                return false;
+            }
+            cursor.lastId = candidate;
+            if (candidate < firstOrderId) {
+                continue;
+            }
+
+            Chunk chunk = chunkOf(candidate);
+            int offset = (int) (candidate - chunk.base);
+            int header = chunk.headers.get(offset);
+            if ((header & VOID) != 0) {
+                continue;
+            }
+            int typeId = typeOf(header);
+            int modeId = modeOf(header);
+            if (cursor.query.matches(typeId, chunk.toppings[offset], chunk.timestamps[offset], modeId)) {
+                cursor.orderId = candidate;
+                cursor.typeId = typeId;
+                cursor.toppingMask = chunk.toppings[offset];
+                cursor.timestamp = chunk.timestamps[offset];
+                cursor.modeId = modeId;
+                return true;
+            }
+        }
+    }
+
+    private long nextCandidate(OrderCursor cursor) {
+        switch (cursor.driver) {
+            case TYPE: {
+                PostingList list = index.typeList(cursor.driverArg);
+                int position = list.seekAfter(cursor.lastId, cursor.lastId);
+                return position < list.end() ? list.id(position) : -1;
+            }
+            case TIME: {
+                PostingList list = index.timeList();
+                int position = list.seekAfter(cursor.lastKey, cursor.lastId);
+                if (position >= list.end() || list.key(position) > cursor.query.getToMillis()) {
+                    return -1;
+                }
+                cursor.lastKey = list.key(position);
+                return list.id(position);
+            }
+            case TOPPING:
+                return index.nextWithTopping(cursor.driverArg, Math.max(cursor.lastId + 1, firstOrderId));
+            default: {
+                long next = Math.max(cursor.lastId + 1, firstOrderId);
+                return next < nextToIndex ? next : -1;
+            }
+        }
+    }
+
+    private void write(long orderId, int header, int toppingMask, long timestamp) {
+        Chunk chunk = chunkFor(orderId);
+        int offset = (int) (orderId - chunk.base);
+        chunk.toppings[offset] = toppingMask;
+        chunk.timestamps[offset] = timestamp;
+        chunk.headers.set(offset, header);
+        indexPending();
+    }
+
+    // An unwritten id is never below indexChunk, so walking forward from it
+    // (and adding chunks as needed) always reaches the id's chunk. Most ids
+    // land in the newest chunk, so the walk starts there when it can.
+    private Chunk chunkFor(long orderId) {
+        Chunk chunk = appendChunk;
+        if (orderId < chunk.base) {
+            chunk = indexChunk;
+        }
+        while (orderId - chunk.base >= CHUNK_SIZE) {
+            Chunk next = chunk.next.get();
+            if (next == null) {
+                chunk.next.compareAndSet(null, new Chunk(chunk.base + CHUNK_SIZE));
+                next = chunk.next.get();
+                appendChunk = next;
+            }
+            chunk = next;
+        }
+        return chunk;
+    }
+
+    // Whoever holds the lock indexes for everyone. An appender that finds it
+    // taken leaves its record to the holder, which looks again after unlocking.
+    private void indexPending() {
+        do {
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                indexPublished();
+            } finally {
+                lock.unlock();
+            }
+        } while (hasUnindexed());
+    }
+
+    private boolean hasUnindexed() {
+        Chunk chunk = indexChunk;
+        long offset = nextToIndex - chunk.base;
+        while (offset >= CHUNK_SIZE) {
+            chunk = chunk.next.get();
+            if (chunk == null) {
+                return false;
+            }
+            offset -= CHUNK_SIZE;
+        }
+        return chunk.headers.get((int) offset) != 0;
+    }
+
+    private void indexPublished() {
+        Chunk chunk = indexChunk;
+        long orderId = nextToIndex;
+        while (true) {
+            int offset = (int) (orderId - chunk.base);
+            if (offset == CHUNK_SIZE) {
+                Chunk next = chunk.next.get();
+                if (next == null) {
+                    break;
+                }
+                chunk = next;
+                offset = 0;
+                nextToIndex = orderId;
+                indexChunk = chunk;
+                retain(chunk);
+            }
+            int header = chunk.headers.get(offset);
+            if (header == 0) {
+                break;
+            }
+
+            if ((header & VOID) == 0) {
+                index.add(orderId, typeOf(header), chunk.toppings[offset], chunk.timestamps[offset]);
+            }
+            size++;
+            orderId++;
+            if (size > retentionLimit) {
+                evictOldest();
+            }
+        }
+        nextToIndex = orderId;
+    }
+
+    private void evictOldest() {
+        Chunk chunk = chunkOf(firstOrderId);
+        int offset = (int) (firstOrderId - chunk.base);
+        int header = chunk.headers.get(offset);
+        if ((header & VOID) == 0) {
+            index.evict(firstOrderId, typeOf(header), chunk.toppings[offset]);
+        }
+        size--;
+        firstOrderId++;
+        if (offset == CHUNK_SIZE - 1) {
+            retained[retainedHead++] = null;
+        }
+    }
+
+    // Only used while the store is empty and nothing is being appended.
+    private void rebase(long orderId) {
+        Chunk first = new Chunk(orderId);
+        while (retainedHead < retainedTail) {
+            retained[retainedHead++] = null;
+        }
+        retain(first);
+        nextId.set(orderId);
+        firstOrderId = orderId;
+        nextToIndex = orderId;
+        indexChunk = first;
+        appendChunk = first;
+    }
+
+    private void retain(Chunk chunk) {
+        if (retainedTail == retained.length) {
+            int live = retainedTail - retainedHead;
+            Chunk[] target = live <= retained.length / 2 ? retained : new Chunk[retained.length * 2];
+            System.arraycopy(retained, retainedHead, target, 0, live);
+            if (target == retained) {
+                Arrays.fill(retained, live, retainedTail, null);
+            }
+            retained = target;
+            retainedHead = 0;
+            retainedTail = live;
+        }
+        retained[retainedTail++] = chunk;
+    }
+
+    private Chunk chunkOf(long orderId) {
+        Chunk oldest = retained[retainedHead];
+        return retained[retainedHead + (int) ((orderId - oldest.base) >> CHUNK_SHIFT)];
+    }
+
+    private static int header(int typeId, int modeId) {
+        return WRITTEN | (modeId & 0xFF) << 8 | (typeId & 0xFF);
+    }
+
+    private static int typeOf(int header) {
+        return header & 0xFF;
+    }
+
+    private static int modeOf(int header) {
+        return (header >>> 8) & 0xFF;
+    }
+
+    private static final class Chunk {
+        private final long base;
+        // A non-zero header publishes the record's other fields.
+        private final AtomicIntegerArray headers = new AtomicIntegerArray(CHUNK_SIZE);
+        private final int[] toppings = new int[CHUNK_SIZE];
+        private final long[] timestamps = new long[CHUNK_SIZE];
+        private final AtomicReference<Chunk> next = new AtomicReference<>();
+
+        Chunk(long base) {
+            this.base = base;
+        }
+    }
+
+    public interface OrderVisitor {
+        void visit(long orderId, int typeId, int toppingMask, long timestamp, int modeId);
+    }
+}
@@ -0,0 +1,40 @@
+package domain.order;
+
+public enum PizzaType {
+    MARGHERITA("Margherita", 220),
+    RANCHO("Rancho", 200),
+    BARBEQUE("Barbeque", 220),
+    CUSTOM("CustomPizza", 220),
+    UNKNOWN("Unknown", 220);
+
+    // Ids from values().length up to MAX_TYPES are handed out by OrderCodec
+    // to pizzas that a loaded menu defines.
+    public static final int MAX_TYPES = 16;
+
+    private static final PizzaType[] VALUES = values();
+
+    private final String displayName;
+    private final int bakeTemperature;
+
+    PizzaType(String displayName, int bakeTemperature) {
+        this.displayName = displayName;
+        this.bakeTemperature = bakeTemperature;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getBakeTemperature() {
+        return bakeTemperature;
+    }
+
+    public int id() {
+        return ordinal();
+    }
+
+    // Menu-defined ids have no constant of their own and map to UNKNOWN.
+    public static PizzaType fromId(int id) {
+        return id < VALUES.length ? VALUES[id] : UNKNOWN;
+    }
+}
@@ -0,0 +1,87 @@
+package domain.order;
+
+final class PostingList {
+
+    private long[] keys = new long[16];
+    private long[] ids = new long[16];
+    private int head;
+    private int tail;
+
+    // Entries are kept sorted by (key, id); appends are almost always in order.
+    void add(long key, long id) {
+        if (tail == keys.length) {
+            makeRoom();
+        }
+        int i = tail;
+        while (i > head && compare(keys[i - 1], ids[i - 1], key, id) > 0) {
+            keys[i] = keys[i - 1];
+            ids[i] = ids[i - 1];
+            i--;
+        }
+        keys[i] = key;
+        ids[i] = id;
+        tail++;
+    }
+
+    void trim(long minId) {
+        while (head < tail && ids[head] < minId) {
+            head++;
+        }
+    }
+
+    int size() {
+        return tail - head;
+    }
+
+    int end() {
+        return tail;
+    }
+
+    long key(int position) {
+        return keys[position];
+    }
+
+    long id(int position) {
+        return ids[position];
+    }
+
+    int seekAfter(long key, long id) {
+        int lo = head;
+        int hi = tail;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(keys[mid], ids[mid], key, id) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    int seekFrom(long key) {
+        return seekAfter(key, -1);
+    }
+
+    private void makeRoom() {
+        int live = tail - head;
+        if (head > 0 && live <= keys.length / 2) {
+            System.arraycopy(keys, head, keys, 0, live);
+            System.arraycopy(ids, head, ids, 0, live);
+        } else {
+            long[] newKeys = new long[keys.length * 2];
+            long[] newIds = new long[ids.length * 2];
+            System.arraycopy(keys, head, newKeys, 0, live);
+            System.arraycopy(ids, head, newIds, 0, live);
+            keys = newKeys;
+            ids = newIds;
+        }
+        head = 0;
+        tail = live;
+    }
+
+    private static int compare(long keyA, long idA, long keyB, long idB) {
+        int byKey = Long.compare(keyA, keyB);
+        return byKey != 0 ? byKey : Long.compare(idA, idB);
+    }
+}
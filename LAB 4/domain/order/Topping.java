@@ -0,0 +1,49 @@
+package domain.order;
+
+public enum Topping {
+    CHEESE("cheese", " + adding extra cheese"),
+    OLIVES("olives", " + adding extra olives"),
+    STUFFED_CRUST("stuffed crust", " + using stuffed crust"),
+    MEAT("meat", " + adding extra meat"),
+    MUSHROOMS("mushrooms", " + adding extra mushrooms"),
+    PEPPERONI("pepperoni", " + adding extra pepperoni");
+
+    private static final Topping[] VALUES = values();
+
+    private final String displayName;
+    private final String prepareNote;
+
+    Topping(String displayName, String prepareNote) {
+        this.displayName = displayName;
+        this.prepareNote = prepareNote;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getPrepareNote() {
+        return prepareNote;
+    }
+
+    public static Topping fromId(int id) {
+        return VALUES[id];
+    }
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public static String describe(int toppingMask) {
+        StringBuilder sb = new StringBuilder();
+        for (Topping topping : VALUES) {
+            if ((toppingMask & topping.mask()) != 0) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                sb.append(topping.displayName);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,340 @@
+package domain.simulation;
+
+import domain.Pizza;
+import domain.builder.CustomPizza;
+import domain.factory.PizzaFactory;
+import domain.metrics.LatencyHistogram;
+import domain.order.DeliveryMode;
+import domain.order.OrderCodec;
+import domain.order.PizzaType;
+import domain.order.Topping;
+import domain.strategy.DeliveryStrategy;
+import domain.utilities.Oven;
+import domain.workload.OrderRequest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Consumer;
+
+// Discrete-event model of the kitchen: every order queues for a prep
+// station, an oven and (unless it is picked up) a courier, with durations
+// taken in virtual time. The Oven and DeliveryStrategy implementations are
+// called at the simulated moment they would act, so real adapters can be
+// plugged in; keep Events quiet unless the play-by-play is wanted.
+public class KitchenSimulation {
+
+    private static final long MINUTE = 60_000;
+
+    private final VirtualClock clock = new VirtualClock();
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private final Random random;
+    private long sequence;
+
+    private final List<Oven> ovens = new ArrayList<>();
+    private final List<DeliveryStrategy> strategies = new ArrayList<>();
+    private double[] strategyShares = new double[0];
+    private double totalShare;
+    private final double[] tripMinutes = { 0, 12, 10 };
+    private final double[] prepMinutes = { 2, 3, 4 };
+    private int prepStations = 2;
+    private int couriers = 8;
+    private double preheatDegreesPerMinute = 25;
+
+    public KitchenSimulation(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public KitchenSimulation addOven(Oven oven) {
+        ovens.add(oven);
+        return this;
+    }
+
+    // Orders are split between strategies in proportion to their shares.
+    public KitchenSimulation addDelivery(DeliveryStrategy strategy, double share) {
+        if (share <= 0) {
+            throw new IllegalArgumentException("Delivery share must be positive: " + share);
+        }
+        strategies.add(strategy);
+        strategyShares = Arrays.copyOf(strategyShares, strategyShares.length + 1);
+        strategyShares[strategyShares.length - 1] = share;
+        totalShare += share;
+        return this;
+    }
+
+    public KitchenSimulation prepStations(int stations) {
+        this.prepStations = stations;
+        return this;
+    }
+
+    public KitchenSimulation prepMinutes(OrderRequest.Kind kind, double minutes) {
+        prepMinutes[kind.ordinal()] = minutes;
+        return this;
+    }
+
+    public KitchenSimulation couriers(int couriers) {
+        this.couriers = couriers;
+        return this;
+    }
+
+    // Round trip; the order counts as delivered halfway through.
+    public KitchenSimulation tripMinutes(DeliveryMode mode, double minutes) {
+        tripMinutes[mode.id()] = minutes;
+        return this;
+    }
+
+    public KitchenSimulation preheatRate(double degreesPerMinute) {
+        if (degreesPerMinute <= 0) {
+            throw new IllegalArgumentException("Preheat rate must be positive: " + degreesPerMinute);
+        }
+        this.preheatDegreesPerMinute = degreesPerMinute;
+        return this;
+    }
+
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    public SimulationReport run(List<OrderRequest> schedule) {
+        if (ovens.isEmpty() || strategies.isEmpty()) {
+            throw new IllegalStateException("Simulation needs at least one oven and one delivery strategy");
+        }
+        long wallStart = System.nanoTime();
+
+        StationPool prep = new StationPool("prep", prepStations, clock);
+        StationPool courierPool = new StationPool("couriers", couriers, clock);
+        Waits waits = new Waits();
+        OvenBank ovenBank = new OvenBank(waits, order -> dispatch(order, courierPool, waits));
+
+        for (OrderRequest request : schedule) {
+            SimOrder order = new SimOrder(request, pickStrategy());
+            at(request.getOffsetNanos() / 1_000_000, () -> arrive(order, prep, ovenBank, waits));
+        }
+
+        while (!events.isEmpty()) {
+            Event event = events.poll();
+            clock.advanceTo(event.time);
+            event.action.run();
+        }
+
+        prep.close();
+        courierPool.close();
+        ovenBank.stats.update(clock.now(), 0, 0);
+
+        return new SimulationReport(clock.now(), System.nanoTime() - wallStart, waits.completed,
+                List.of(prep.getStats(), ovenBank.stats, courierPool.getStats()),
+                waits.prep, waits.oven, waits.courier, waits.total);
+    }
+
+    private void arrive(SimOrder order, StationPool prep, OvenBank ovenBank, Waits waits) {
+        order.arrived = clock.now();
+        prep.acquire(() -> {
+            waits.prep.record(clock.now() - order.arrived);
+            after(prepMinutes[order.request.getKind().ordinal()], () -> {
+                prep.release();
+                ovenBank.enqueue(order);
+            });
+        });
+    }
+
+    private void dispatch(SimOrder order, StationPool courierPool, Waits waits) {
+        double trip = tripMinutes[order.strategy.getMode().id()];
+        if (trip <= 0) {
+            complete(order, waits);
+            return;
+        }
+        long queued = clock.now();
+        courierPool.acquire(() -> {
+            waits.courier.record(clock.now() - queued);
+            after(trip / 2, () -> {
+                complete(order, waits);
+                after(trip / 2, courierPool::release);
+            });
+        });
+    }
+
+    private void complete(SimOrder order, Waits waits) {
+        order.strategy.deliver(order.name);
+        waits.total.record(clock.now() - order.arrived);
+        waits.completed++;
+    }
+
+    private DeliveryStrategy pickStrategy() {
+        double pick = random.nextDouble() * totalShare;
+        for (int i = 0; i < strategyShares.length; i++) {
+            pick -= strategyShares[i];
+            if (pick < 0) {
+                return strategies.get(i);
+            }
+        }
+        return strategies.get(strategies.size() - 1);
+    }
+
+    private void after(double minutes, Runnable action) {
+        at(clock.now() + Math.round(minutes * MINUTE), action);
+    }
+
+    private void at(long time, Runnable action) {
+        events.add(new Event(time, sequence++, action));
+    }
+
+    // Each oven bakes one load at a time. A free oven takes the head of the
+    // queue plus any later orders at the same temperature, up to its
+    // capacity, and only preheats when the load needs a different setting.
+    private final class OvenBank {
+        private final ResourceStats stats = new ResourceStats("ovens", ovens.size());
+        private final boolean[] busy = new boolean[ovens.size()];
+        private final ArrayDeque<SimOrder> waiting = new ArrayDeque<>();
+        private final Waits waits;
+        private final Consumer<SimOrder> onBaked;
+        private int busyCount;
+
+        OvenBank(Waits waits, Consumer<SimOrder> onBaked) {
+            this.waits = waits;
+            this.onBaked = onBaked;
+        }
+
+        void enqueue(SimOrder order) {
+            order.ovenQueued = clock.now();
+            waiting.addLast(order);
+            stats.update(clock.now(), busyCount, waiting.size());
+            startIdleOvens();
+        }
+
+        private void startIdleOvens() {
+            for (int i = 0; i < busy.length && !waiting.isEmpty(); i++) {
+                if (!busy[i]) {
+                    start(i);
+                }
+            }
+        }
+
+        private void start(int index) {
+            Oven oven = ovens.get(index);
+            SimOrder head = waiting.pollFirst();
+            List<SimOrder> load = new ArrayList<>();
+            List<Pizza> pizzas = new ArrayList<>();
+            load.add(head);
+            pizzas.add(head.pizza);
+            for (Iterator<SimOrder> it = waiting.iterator(); it.hasNext() && load.size() < oven.getCapacity(); ) {
+                SimOrder next = it.next();
+                if (next.temperature == head.temperature) {
+                    it.remove();
+                    load.add(next);
+                    pizzas.add(next.pizza);
+                }
+            }
+
+            busy[index] = true;
+            busyCount++;
+            stats.update(clock.now(), busyCount, waiting.size());
+            stats.served(load.size());
+
+            int minutes = 0;
+            for (SimOrder order : load) {
+                waits.oven.record(clock.now() - order.ovenQueued);
+                minutes = Math.max(minutes, order.bakeMinutes);
+            }
+
+            int before = oven.getCurrentTemperature();
+            oven.preheat(head.temperature);
+            double preheat = Math.abs(oven.getCurrentTemperature() - before) / preheatDegreesPerMinute;
+            oven.bakeBatch(pizzas, minutes);
+
+            after(preheat + minutes, () -> {
+                busy[index] = false;
+                busyCount--;
+                stats.update(clock.now(), busyCount, waiting.size());
+                load.forEach(onBaked);
+                startIdleOvens();
+            });
+        }
+    }
+
+    private static final class SimOrder {
+        final OrderRequest request;
+        final DeliveryStrategy strategy;
+        final Pizza pizza;
+        final String name;
+        final int temperature;
+        final int bakeMinutes;
+        long arrived;
+        long ovenQueued;
+
+        SimOrder(OrderRequest request, DeliveryStrategy strategy) {
+            this.request = request;
+            this.strategy = strategy;
+            this.pizza = toPizza(request);
+            this.name = OrderCodec.nameOf(pizza);
+            this.temperature = OrderCodec.bakeTemperatureOf(pizza);
+            // Same bake times as PizzeriaFacade.
+            this.bakeMinutes = request.getKind() == OrderRequest.Kind.SIMPLE ? 15 : 18;
+        }
+
+        private static Pizza toPizza(OrderRequest request) {
+            switch (request.getKind()) {
+                case SIMPLE:
+                    return orDefault(PizzaFactory.createPizza(request.getType()));
+                case TOPPINGS:
+                    List<Topping> toppings = new ArrayList<>();
+                    for (String name : request.getToppings()) {
+                        int id = PizzaFactory.getMenu().toppingId(name);
+                        if (id >= 0) {
+                            toppings.add(Topping.fromId(id));
+                        }
+                    }
+                    return PizzaFactory.withToppings(orDefault(PizzaFactory.createPizza(request.getType())),
+                            toppings.toArray(new Topping[0]));
+                default:
+                    CustomPizza.PizzaBuilder builder = new CustomPizza.PizzaBuilder()
+                            .setSize(request.getSize())
+                            .setCrustType(request.getCrust());
+                    if (request.hasCheese()) {
+                        builder.addExtraCheese();
+                    }
+                    if (request.hasPepperoni()) {
+                        builder.addExtraPepperoni();
+                    }
+                    if (request.hasMushrooms()) {
+                        builder.addExtraMushrooms();
+                    }
+                    return builder.build();
+            }
+        }
+
+        // Unknown menu names still occupy the kitchen, as a Margherita.
+        private static Pizza orDefault(Pizza pizza) {
+            return pizza != null ? pizza : PizzaFactory.createPizza(PizzaType.MARGHERITA.id());
+        }
+    }
+
+    private static final class Waits {
+        final LatencyHistogram prep = new LatencyHistogram();
+        final LatencyHistogram oven = new LatencyHistogram();
+        final LatencyHistogram courier = new LatencyHistogram();
+        final LatencyHistogram total = new LatencyHistogram();
+        long completed;
+    }
+
+    private static final class Event implements Comparable<Event> {
+        final long time;
+        final long sequence;
+        final Runnable action;
+
+        Event(long time, long sequence, Runnable action) {
+            this.time = time;
+            this.sequence = sequence;
+            this.action = action;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
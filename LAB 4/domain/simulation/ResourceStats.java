@@ -0,0 +1,58 @@
+package domain.simulation;
+
+// Time-weighted busy and queue integrals for one kind of kitchen resource.
+public final class ResourceStats {
+
+    private final String name;
+    private final int units;
+    private long lastChange;
+    private int busy;
+    private int queued;
+    private double busyArea;
+    private double queueArea;
+    private int maxQueue;
+    private long served;
+
+    ResourceStats(String name, int units) {
+        this.name = name;
+        this.units = units;
+    }
+
+    void update(long now, int busy, int queued) {
+        long elapsed = now - lastChange;
+        busyArea += (double) this.busy * elapsed;
+        queueArea += (double) this.queued * elapsed;
+        lastChange = now;
+        this.busy = busy;
+        this.queued = queued;
+        maxQueue = Math.max(maxQueue, queued);
+    }
+
+    void served(int count) {
+        served += count;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getUnits() {
+        return units;
+    }
+
+    public long getServed() {
+        return served;
+    }
+
+    public double getUtilisation() {
+        return lastChange == 0 ? 0 : busyArea / ((double) units * lastChange);
+    }
+
+    public double getAverageQueueLength() {
+        return lastChange == 0 ? 0 : queueArea / lastChange;
+    }
+
+    public int getMaxQueueLength() {
+        return maxQueue;
+    }
+}
@@ -0,0 +1,88 @@
+package domain.simulation;
+
+import domain.metrics.LatencyHistogram;
+
+import java.util.List;
+
+// Waits are recorded in simulated milliseconds and reported in minutes.
+public final class SimulationReport {
+
+    private final long simulatedMillis;
+    private final long wallNanos;
+    private final long completed;
+    private final List<ResourceStats> resources;
+    private final LatencyHistogram prepWait;
+    private final LatencyHistogram ovenWait;
+    private final LatencyHistogram courierWait;
+    private final LatencyHistogram leadTime;
+
+    SimulationReport(long simulatedMillis, long wallNanos, long completed, List<ResourceStats> resources,
+                     LatencyHistogram prepWait, LatencyHistogram ovenWait,
+                     LatencyHistogram courierWait, LatencyHistogram leadTime) {
+        this.simulatedMillis = simulatedMillis;
+        this.wallNanos = wallNanos;
+        this.completed = completed;
+        this.resources = resources;
+        this.prepWait = prepWait;
+        this.ovenWait = ovenWait;
+        this.courierWait = courierWait;
+        this.leadTime = leadTime;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public double getSimulatedHours() {
+        return simulatedMillis / 3_600_000.0;
+    }
+
+    public double getWallSeconds() {
+        return wallNanos / 1e9;
+    }
+
+    public List<ResourceStats> getResources() {
+        return resources;
+    }
+
+    public double getPrepWaitMinutes(double percentile) {
+        return prepWait.percentile(percentile) / 60_000.0;
+    }
+
+    public double getOvenWaitMinutes(double percentile) {
+        return ovenWait.percentile(percentile) / 60_000.0;
+    }
+
+    public double getCourierWaitMinutes(double percentile) {
+        return courierWait.percentile(percentile) / 60_000.0;
+    }
+
+    public double getLeadTimeMinutes(double percentile) {
+        return leadTime.percentile(percentile) / 60_000.0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%,d orders over %.1f simulated hours (%.2fs wall)%n",
+                completed, getSimulatedHours(), getWallSeconds()));
+        sb.append(String.format("%-10s %5s %8s %10s %9s %9s%n", "resource", "units", "util", "avg queue", "max queue", "served"));
+        for (ResourceStats stats : resources) {
+            sb.append(String.format("%-10s %5d %7.1f%% %10.2f %9d %9d%n", stats.getName(), stats.getUnits(),
+                    stats.getUtilisation() * 100, stats.getAverageQueueLength(),
+                    stats.getMaxQueueLength(), stats.getServed()));
+        }
+        sb.append(String.format("%-10s %8s %8s %8s %8s  (minutes)%n", "wait", "p50", "p95", "p99", "max"));
+        appendRow(sb, "prep", prepWait);
+        appendRow(sb, "oven", ovenWait);
+        appendRow(sb, "courier", courierWait);
+        appendRow(sb, "lead time", leadTime);
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String label, LatencyHistogram histogram) {
+        sb.append(String.format("%-10s %8.1f %8.1f %8.1f %8.1f%n", label,
+                histogram.percentile(50) / 60_000.0, histogram.percentile(95) / 60_000.0,
+                histogram.percentile(99) / 60_000.0, histogram.getMax() / 60_000.0));
+    }
+}
@@ -0,0 +1,56 @@
+package domain.simulation;
+
+import java.util.ArrayDeque;
+
+// A fixed number of interchangeable stations (prep benches, couriers) with a
+// FIFO queue of work waiting for one to free up.
+final class StationPool {
+
+    private final ResourceStats stats;
+    private final VirtualClock clock;
+    private final int units;
+    private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+    private int busy;
+
+    StationPool(String name, int units, VirtualClock clock) {
+        if (units < 1) {
+            throw new IllegalArgumentException(name + " needs at least one unit: " + units);
+        }
+        this.stats = new ResourceStats(name, units);
+        this.clock = clock;
+        this.units = units;
+    }
+
+    // Runs onGranted as soon as a unit is free; the holder must call release().
+    void acquire(Runnable onGranted) {
+        if (busy < units) {
+            busy++;
+            stats.update(clock.now(), busy, waiting.size());
+            stats.served(1);
+            onGranted.run();
+        } else {
+            waiting.addLast(onGranted);
+            stats.update(clock.now(), busy, waiting.size());
+        }
+    }
+
+    void release() {
+        Runnable next = waiting.pollFirst();
+        if (next == null) {
+            busy--;
+            stats.update(clock.now(), busy, 0);
+        } else {
+            stats.update(clock.now(), busy, waiting.size());
+            stats.served(1);
+            next.run();
+        }
+    }
+
+    void close() {
+        stats.update(clock.now(), busy, waiting.size());
+    }
+
+    ResourceStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,23 @@
+package domain.simulation;
+
+// Simulated time in milliseconds since the kitchen opened. Only the event
+// loop moves it, and only forwards.
+public final class VirtualClock {
+
+    private long now;
+
+    public long now() {
+        return now;
+    }
+
+    public double minutes() {
+        return now / 60_000.0;
+    }
+
+    void advanceTo(long time) {
+        if (time < now) {
+            throw new IllegalStateException("Clock cannot run backwards: " + time + " < " + now);
+        }
+        now = time;
+    }
+}
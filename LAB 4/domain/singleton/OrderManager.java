@@ -1,49 +1,295 @@
 package domain.singleton;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import domain.Pizza;
+import domain.events.EventLevel;
+import domain.events.Events;
+import domain.metrics.LatencyStage;
+import domain.metrics.Metrics;
+import domain.observer.AsyncOrderDispatcher;
+import domain.observer.BatchOrderObserver;
+import domain.observer.ObserverRouter;
+import domain.observer.OrderBatcher;
+import domain.observer.OrderFilter;
 import domain.observer.OrderObserver;
+import domain.observer.WaitStrategy;
+import domain.order.DeliveryMode;
+import domain.order.OrderCodec;
+import domain.order.OrderCursor;
+import domain.order.OrderEvent;
+import domain.order.OrderJournal;
+import domain.order.OrderQuery;
+import domain.order.OrderStore;
+import domain.tracing.Span;
+import domain.tracing.Tracer;
 
 public class OrderManager {
-    private static OrderManager instance;
 
-    private List<Pizza> orders;
-    private List<OrderObserver> observers = new ArrayList<>();
+    private static final int DEFAULT_RETENTION_LIMIT = 100_000;
+    private static final int JOURNAL_RECORDS_PER_SEGMENT = 64 * 1024;
+    private static final long JOURNAL_BATCH_INTERVAL_MILLIS = 10;
+
+    private final OrderStore orders = new OrderStore(DEFAULT_RETENTION_LIMIT);
+    private final ObserverRouter router = new ObserverRouter();
+    private final LongAdder orderCount = new LongAdder();
+
+    // Sync dispatch reuses one event per nesting level, so an observer that
+    // places an order from inside its callback does not clobber the outer one.
+    private final ThreadLocal<EventStack> eventStack = ThreadLocal.withInitial(EventStack::new);
+
+    private volatile AsyncOrderDispatcher dispatcher;
+    private volatile OrderJournal journal;
 
     private OrderManager() {
-        orders = new ArrayList<>();
+    }
+
+    private static class Holder {
+        private static final OrderManager INSTANCE = new OrderManager();
     }
 
     public static OrderManager getInstance() {
-        if (instance == null) {
-            instance = new OrderManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     public void addObserver(OrderObserver observer) {
-        observers.add(observer);
+        addObserver(observer, OrderFilter.all());
+    }
+
+    // The observer only hears about orders the filter accepts; routing cost
+    // grows with the number of matching observers, not registered ones.
+    public synchronized void addObserver(OrderObserver observer, OrderFilter filter) {
+        router.subscribe(observer, filter);
+        if (dispatcher != null) {
+            dispatcher.addObserver(observer, filter);
+        }
+    }
+
+    public synchronized boolean removeObserver(OrderObserver observer) {
+        if (dispatcher != null) {
+            dispatcher.removeObserver(observer);
+        }
+        return router.unsubscribe(observer);
+    }
+
+    // Coalesces notifications for the observer by size and time; shut the
+    // returned batcher down to unsubscribe it and deliver whatever is still
+    // pending.
+    public OrderBatcher addBatchObserver(BatchOrderObserver observer, int maxBatchSize, long maxDelayMillis) {
+        OrderBatcher[] registered = new OrderBatcher[1];
+        OrderBatcher batcher = new OrderBatcher(observer, maxBatchSize, maxDelayMillis,
+                () -> removeObserver(registered[0]));
+        registered[0] = batcher;
+        addObserver(batcher);
+        return batcher;
+    }
+
+    public synchronized void enableAsyncDispatch(int capacity, WaitStrategy waitStrategy) {
+        if (dispatcher != null) {
+            return;
+        }
+        AsyncOrderDispatcher async = new AsyncOrderDispatcher(capacity, waitStrategy);
+        for (ObserverRouter.Subscription subscription : router.getSubscriptions()) {
+            async.addObserver(subscription.getObserver(), subscription.getFilter());
+        }
+        dispatcher = async;
+    }
+
+    public synchronized void disableAsyncDispatch() throws InterruptedException {
+        AsyncOrderDispatcher async = dispatcher;
+        if (async == null) {
+            return;
+        }
+        dispatcher = null;
+        async.shutdown();
+    }
+
+    private void notifyOrderAdded(OrderEvent event) {
+        AsyncOrderDispatcher async = dispatcher;
+        if (async != null && async.publish(event)) {
+            return;
+        }
+        for (OrderObserver observer : router.route(event)) {
+            try (Span span = Tracer.startSpan("observer.notify")) {
+                if (span.isSampled()) {
+                    span.setAttribute("observer", observer.getClass().getSimpleName());
+                }
+                observer.onOrder(event);
+            }
+        }
     }
 
-    private void notifyOrderAdded(String orderName) {
-        for (OrderObserver observer : observers) {
-            observer.onOrderAdded(orderName);
+    private void notifyOrdersAdded(List<OrderEvent> events) {
+        AsyncOrderDispatcher async = dispatcher;
+        if (async != null) {
+            int published = 0;
+            while (published < events.size() && async.publish(events.get(published))) {
+                published++;
+            }
+            if (published == events.size()) {
+                return;
+            }
+            events = events.subList(published, events.size());
+        }
+        // Each event goes through the compiled table once; every observer then
+        // gets its events in a single call, in subscription order.
+        Map<OrderObserver, List<OrderEvent>> routed = new IdentityHashMap<>();
+        for (OrderEvent event : events) {
+            for (OrderObserver observer : router.route(event)) {
+                routed.computeIfAbsent(observer, key -> new ArrayList<>()).add(event);
+            }
+        }
+        if (routed.isEmpty()) {
+            return;
+        }
+        for (ObserverRouter.Subscription subscription : router.getSubscriptions()) {
+            OrderObserver observer = subscription.getObserver();
+            List<OrderEvent> matching = routed.remove(observer);
+            if (matching == null) {
+                continue;
+            }
+            try (Span span = Tracer.startSpan("observer.notifyBatch")) {
+                if (span.isSampled()) {
+                    span.setAttribute("observer", observer.getClass().getSimpleName());
+                }
+                BatchOrderObserver.adapt(observer).onOrders(matching);
+            }
         }
     }
 
     public void addOrder(Pizza pizza) {
-        orders.add(pizza);
-        String name = pizza.getClass().getSimpleName();
-        System.out.println("Order added: " + name);
-        notifyOrderAdded(name);
+        addOrder(pizza, DeliveryMode.PICKUP);
+    }
+
+    public void addOrder(Pizza pizza, DeliveryMode mode) {
+        try (Span span = Tracer.startSpan("orders.add")) {
+            addOrderTraced(pizza, mode, span);
+        }
+    }
+
+    private void addOrderTraced(Pizza pizza, DeliveryMode mode, Span span) {
+        EventStack stack = eventStack.get();
+        OrderEvent event = stack.push();
+        try {
+            record(pizza, mode, event, span);
+
+            long start = Metrics.start();
+            notifyOrderAdded(event);
+            Metrics.record(LatencyStage.NOTIFY, event.getTypeId(), mode.id(), start);
+        } finally {
+            stack.pop();
+        }
+    }
+
+    // Bulk import: every order is stored and journalled as usual, then batch
+    // observers get the whole list in one call. These events are allocated,
+    // since the whole batch has to be alive at once.
+    public void addOrders(List<? extends Pizza> pizzas, DeliveryMode mode) {
+        try (Span span = Tracer.startSpan("orders.addBatch")) {
+            span.setAttribute("batch.size", pizzas.size());
+            List<OrderEvent> events = new ArrayList<>(pizzas.size());
+            for (Pizza pizza : pizzas) {
+                try (Span child = Tracer.startSpan("orders.add")) {
+                    OrderEvent event = new OrderEvent();
+                    record(pizza, mode, event, child);
+                    events.add(event);
+                }
+            }
+
+            long start = Metrics.start();
+            notifyOrdersAdded(events);
+            Metrics.record(LatencyStage.NOTIFY, -1, mode.id(), start);
+        }
+    }
+
+    private void record(Pizza pizza, DeliveryMode mode, OrderEvent event, Span span) {
+        long start = Metrics.start();
+        int typeId = OrderCodec.typeIdOf(pizza);
+        int toppingMask = OrderCodec.toppingMask(pizza);
+        long timestamp = System.currentTimeMillis();
+
+        long orderId = orders.append(typeId, toppingMask, timestamp, mode.id());
+        span.setAttribute("order.id", orderId);
+        OrderJournal current = journal;
+        if (current != null) {
+            current.append(orderId, typeId, toppingMask, timestamp, mode.id());
+        }
+        orderCount.increment();
+        event.set(orderId, typeId, toppingMask, timestamp, mode.id());
+        if (Events.isEnabled(EventLevel.INFO)) {
+            Events.info("OrderManager", "Order added: ", event.getName());
+        }
+        Metrics.record(LatencyStage.ADD_ORDER, typeId, mode.id(), start);
+    }
+
+    public long getOrderCount() {
+        return orderCount.sum();
+    }
+
+    public synchronized void enableJournal(Path directory, OrderJournal.Durability durability) throws IOException {
+        if (journal != null) {
+            return;
+        }
+        // Recovered orders keep their journalled ids, which only works if
+        // nothing has been numbered yet.
+        if (orders.size() > 0) {
+            throw new IllegalStateException("Journal must be enabled before any order is added");
+        }
+        journal = new OrderJournal(directory, JOURNAL_RECORDS_PER_SEGMENT, durability,
+                JOURNAL_BATCH_INTERVAL_MILLIS, (orderId, typeId, toppingMask, timestamp, modeId) -> {
+                    orders.restore(orderId, typeId, toppingMask, timestamp, modeId);
+                    orderCount.increment();
+                });
+    }
+
+    public synchronized void closeJournal() throws IOException {
+        OrderJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        journal = null;
+        current.close();
+    }
+
+    public OrderCursor query(OrderQuery query) {
+        return orders.query(query);
+    }
+
+    public void setRetentionLimit(int retentionLimit) {
+        orders.setRetentionLimit(retentionLimit);
     }
-    
+
     public void showOrders(){
-        System.out.println("Current Orders:");
-        for(Pizza pizza : orders){
-            System.out.println("- " + pizza.getClass().getSimpleName());
+        Events.info("OrderManager", "Current Orders:");
+        if (!Events.isEnabled(EventLevel.INFO)) {
+            return;
+        }
+        orders.forEach((orderId, typeId, toppingMask, timestamp, modeId) ->
+                Events.info("OrderManager", "- #" + orderId + " " + OrderCodec.describe(typeId, toppingMask)
+                        + " (" + DeliveryMode.fromId(modeId) + ")"));
+    }
+
+    private static final class EventStack {
+        private OrderEvent[] events = new OrderEvent[0];
+        private int depth;
+
+        OrderEvent push() {
+            if (depth == events.length) {
+                events = Arrays.copyOf(events, depth + 1);
+                events[depth] = new OrderEvent();
+            }
+            return events[depth++];
+        }
+
+        void pop() {
+            depth--;
         }
     }
 }
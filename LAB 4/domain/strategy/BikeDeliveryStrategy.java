@@ -1,8 +1,16 @@
 package domain.strategy;
 
+import domain.events.Events;
+import domain.order.DeliveryMode;
+
 public class BikeDeliveryStrategy implements DeliveryStrategy {
     @Override
     public void deliver(String orderName) {
-        System.out.println("[Delivery-Bike] Delivering order \"" + orderName + "\" by bike.");
+        Events.info("Delivery", "Delivering order \"", orderName, "\" by bike.");
+    }
+
+    @Override
+    public DeliveryMode getMode() {
+        return DeliveryMode.BIKE;
     }
 }
@@ -1,8 +1,16 @@
 package domain.strategy;
 
+import domain.events.Events;
+import domain.order.DeliveryMode;
+
 public class CarDeliveryStrategy implements DeliveryStrategy {
     @Override
     public void deliver(String orderName) {
-        System.out.println("[Delivery-Car] Delivering order \"" + orderName + "\" by car.");
+        Events.info("Delivery", "Delivering order \"", orderName, "\" by car.");
+    }
+
+    @Override
+    public DeliveryMode getMode() {
+        return DeliveryMode.CAR;
     }
 }
@@ -1,5 +1,8 @@
 package domain.strategy;
 
+import domain.order.DeliveryMode;
+
 public interface DeliveryStrategy {
     void deliver(String orderName);
+    DeliveryMode getMode();
 }
@@ -1,8 +1,16 @@
 package domain.strategy;
 
+import domain.events.Events;
+import domain.order.DeliveryMode;
+
 public class PickupStrategy implements DeliveryStrategy {
     @Override
     public void deliver(String orderName) {
-        System.out.println("[Pickup] Customer will pick up the order \"" + orderName + "\" from the pizzeria.");
+        Events.info("Delivery", "Customer will pick up the order \"", orderName, "\" from the pizzeria.");
+    }
+
+    @Override
+    public DeliveryMode getMode() {
+        return DeliveryMode.PICKUP;
     }
 }
@@ -0,0 +1,134 @@
+package domain.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Writes one OTLP ExportTraceServiceRequest per line (the OTLP file exporter format).
+public class OtlpJsonExporter {
+
+    private static final int MAX_SPANS_PER_LINE = 512;
+
+    private final BufferedWriter writer;
+    private final Queue<Span> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService timer;
+
+    public OtlpJsonExporter(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "trace-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::flush, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public void export(Span span) {
+        pending.add(span);
+    }
+
+    public void close() {
+        timer.shutdown();
+        try {
+            timer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // Nothing left to report to; the spans were best effort.
+        }
+    }
+
+    private synchronized void flush() {
+        try {
+            while (!pending.isEmpty()) {
+                StringBuilder line = new StringBuilder(4096);
+                line.append("{\"resourceSpans\":[{\"resource\":{\"attributes\":[")
+                        .append("{\"key\":\"service.name\",\"value\":{\"stringValue\":\"pizzeria\"}}]},")
+                        .append("\"scopeSpans\":[{\"scope\":{\"name\":\"domain.tracing\"},\"spans\":[");
+                Span span;
+                int count = 0;
+                while (count < MAX_SPANS_PER_LINE && (span = pending.poll()) != null) {
+                    if (count++ > 0) {
+                        line.append(',');
+                    }
+                    append(line, span);
+                }
+                line.append("]}]}]}");
+                writer.write(line.toString());
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            pending.clear();
+        }
+    }
+
+    private static void append(StringBuilder out, Span span) {
+        out.append("{\"traceId\":\"").append(hex(span.traceIdHigh)).append(hex(span.traceIdLow))
+                .append("\",\"spanId\":\"").append(hex(span.spanId)).append('"');
+        if (span.parent != null) {
+            out.append(",\"parentSpanId\":\"").append(hex(span.parent.spanId)).append('"');
+        }
+        out.append(",\"name\":");
+        quote(out, span.name);
+        out.append(",\"kind\":1,\"startTimeUnixNano\":\"").append(span.startNanos)
+                .append("\",\"endTimeUnixNano\":\"").append(span.endNanos).append("\",\"attributes\":[");
+        if (span.attributes != null) {
+            for (int i = 0; i < span.attributes.size(); i++) {
+                Object[] attribute = span.attributes.get(i);
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append("{\"key\":");
+                quote(out, (String) attribute[0]);
+                if (attribute[1] instanceof Long) {
+                    out.append(",\"value\":{\"intValue\":\"").append(attribute[1]).append("\"}}");
+                } else {
+                    out.append(",\"value\":{\"stringValue\":");
+                    quote(out, String.valueOf(attribute[1]));
+                    out.append("}}");
+                }
+            }
+        }
+        out.append("]}");
+    }
+
+    private static String hex(long value) {
+        String digits = Long.toHexString(value);
+        return "0000000000000000".substring(digits.length()) + digits;
+    }
+
+    private static void quote(StringBuilder out, String text) {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
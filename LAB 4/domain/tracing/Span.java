@@ -0,0 +1,73 @@
+package domain.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span(null, null, null, false);
+
+    final String name;
+    final Span parent;
+    final long traceIdHigh;
+    final long traceIdLow;
+    final long spanId;
+    final boolean sampled;
+    final long startNanos;
+    long endNanos;
+    List<Object[]> attributes;
+
+    private final Span previous;
+
+    Span(String name, Span parent, Span previous, boolean sampled) {
+        this.name = name;
+        this.parent = parent;
+        this.previous = previous;
+        this.sampled = sampled;
+        if (parent != null) {
+            this.traceIdHigh = parent.traceIdHigh;
+            this.traceIdLow = parent.traceIdLow;
+        } else if (sampled) {
+            this.traceIdHigh = Tracer.randomId();
+            this.traceIdLow = Tracer.randomId();
+        } else {
+            this.traceIdHigh = 0;
+            this.traceIdLow = 0;
+        }
+        this.spanId = sampled ? Tracer.randomId() : 0;
+        this.startNanos = sampled ? Tracer.epochNanos() : 0;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public Span setAttribute(String key, String value) {
+        if (sampled) {
+            attributes().add(new Object[] { key, value });
+        }
+        return this;
+    }
+
+    public Span setAttribute(String key, long value) {
+        if (sampled) {
+            attributes().add(new Object[] { key, value });
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (this == NOOP) {
+            return;
+        }
+        Tracer.end(this, previous);
+    }
+
+    private List<Object[]> attributes() {
+        if (attributes == null) {
+            attributes = new ArrayList<>(4);
+        }
+        return attributes;
+    }
+}
@@ -0,0 +1,136 @@
+package domain.tracing;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+public final class Tracer {
+
+    private static final long EPOCH_OFFSET_NANOS = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+
+    private static final ThreadLocal<Span> current = new ThreadLocal<>();
+
+    private static volatile double sampleRate;
+    private static volatile OtlpJsonExporter exporter;
+
+    private Tracer() {
+    }
+
+    public static synchronized void configure(double rate, Path file) throws IOException {
+        shutdown();
+        exporter = new OtlpJsonExporter(file);
+        sampleRate = rate;
+    }
+
+    public static synchronized void shutdown() {
+        sampleRate = 0;
+        OtlpJsonExporter old = exporter;
+        exporter = null;
+        if (old != null) {
+            old.close();
+        }
+    }
+
+    // Children join the current trace; a new root is sampled at the configured rate.
+    public static Span startSpan(String name) {
+        Span parent = current.get();
+        if (parent == null) {
+            double rate = sampleRate;
+            if (rate <= 0) {
+                return Span.NOOP;
+            }
+            boolean sampled = rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate;
+            Span root = new Span(name, null, null, sampled);
+            current.set(root);
+            return root;
+        }
+        if (!parent.sampled) {
+            return Span.NOOP;
+        }
+        Span span = new Span(name, parent, parent, true);
+        current.set(span);
+        return span;
+    }
+
+    // Explicit parent, for work that was queued and is now running on another thread.
+    public static Span startSpan(String name, Span parent) {
+        if (parent == null || !parent.sampled) {
+            return Span.NOOP;
+        }
+        Span span = new Span(name, parent, current.get(), true);
+        current.set(span);
+        return span;
+    }
+
+    public static Span currentSpan() {
+        Span span = current.get();
+        return span == null ? Span.NOOP : span;
+    }
+
+    // Carries the caller's trace context across an async hand-off.
+    public static Runnable wrap(Runnable task) {
+        Span captured = current.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Span before = current.get();
+            current.set(captured);
+            try {
+                task.run();
+            } finally {
+                restore(before);
+            }
+        };
+    }
+
+    // Same, for completion callbacks such as CompletableFuture.whenComplete.
+    public static <T, U> BiConsumer<T, U> wrap(BiConsumer<T, U> callback) {
+        Span captured = current.get();
+        if (captured == null) {
+            return callback;
+        }
+        return (first, second) -> {
+            Span before = current.get();
+            current.set(captured);
+            try {
+                callback.accept(first, second);
+            } finally {
+                restore(before);
+            }
+        };
+    }
+
+    static void restore(Span span) {
+        if (span == null) {
+            current.remove();
+        } else {
+            current.set(span);
+        }
+    }
+
+    static void end(Span span, Span previous) {
+        restore(previous);
+        if (!span.sampled) {
+            return;
+        }
+        span.endNanos = epochNanos();
+        OtlpJsonExporter target = exporter;
+        if (target != null) {
+            target.export(span);
+        }
+    }
+
+    static long epochNanos() {
+        return EPOCH_OFFSET_NANOS + System.nanoTime();
+    }
+
+    static long randomId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+}
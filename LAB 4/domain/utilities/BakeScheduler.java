@@ -0,0 +1,198 @@
+package domain.utilities;
+
+import domain.Pizza;
+import domain.metrics.LatencyStage;
+import domain.metrics.Metrics;
+import domain.order.OrderCodec;
+import domain.tracing.Span;
+import domain.tracing.Tracer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class BakeScheduler {
+
+    private final Oven oven;
+    private final int maxBypass;
+    private final List<BakeJob> pending = new ArrayList<>();
+    // Guards the oven's temperature, never the bake itself: up to the oven's
+    // capacity of jobs at the current temperature bake together, and a job
+    // that needs another temperature reheats once the oven is empty. The
+    // queue is guarded by this, not by ovenLock.
+    private final Object ovenLock = new Object();
+    private int baking;
+    private int reheatsWaiting;
+
+    private volatile int temperatureChanges;
+    private long nextSequence;
+
+    public BakeScheduler(Oven oven, int maxBypass) {
+        this.oven = oven;
+        this.maxBypass = maxBypass;
+    }
+
+    public CompletableFuture<Pizza> submit(Pizza pizza, int minutes) {
+        return submit(pizza, minutes, OrderCodec.bakeTemperatureOf(pizza));
+    }
+
+    public synchronized CompletableFuture<Pizza> submit(Pizza pizza, int minutes, int temperature) {
+        BakeJob job = new BakeJob(pizza, minutes, temperature, nextSequence++);
+        pending.add(job);
+        return job.done;
+    }
+
+    // Queues the pizza and helps bake until it is done; if another caller
+    // already took it, waits for that caller to finish it. An oven with
+    // stations heats and schedules each job itself, so it gets the job as is.
+    public void bake(Pizza pizza, int minutes, int temperature) {
+        if (oven.hasStations()) {
+            oven.bake(pizza, minutes, temperature);
+            return;
+        }
+        CompletableFuture<Pizza> done = submit(pizza, minutes, temperature);
+        while (!done.isDone()) {
+            if (!runNext()) {
+                break;
+            }
+        }
+        done.join();
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    public int getTemperatureChanges() {
+        return temperatureChanges;
+    }
+
+    public int runPending() {
+        int baked = 0;
+        while (runNext()) {
+            baked++;
+        }
+        return baked;
+    }
+
+    private boolean runNext() {
+        BakeJob job = takeNext();
+        if (job == null) {
+            return false;
+        }
+        try {
+            if (oven.hasStations()) {
+                oven.bake(job.pizza, job.minutes, job.temperature);
+            } else {
+                enterOven(job);
+                try {
+                    oven.bake(job.pizza, job.minutes);
+                } finally {
+                    leaveOven();
+                }
+            }
+            job.done.complete(job.pizza);
+        } catch (RuntimeException e) {
+            job.done.completeExceptionally(e);
+        }
+        return true;
+    }
+
+    // Jobs at the current temperature join the bakes already running while
+    // there is room, unless a job is waiting to reheat; that one goes next.
+    private void enterOven(BakeJob job) {
+        boolean interrupted = false;
+        synchronized (ovenLock) {
+            boolean waitingToReheat = false;
+            while (true) {
+                boolean hot = oven.getCurrentTemperature() == job.temperature;
+                if (hot && baking < oven.getCapacity() && (reheatsWaiting == 0 || waitingToReheat)) {
+                    break;
+                }
+                if (!hot && baking == 0) {
+                    temperatureChanges++;
+                    preheat(job);
+                    break;
+                }
+                if (!hot && !waitingToReheat) {
+                    reheatsWaiting++;
+                    waitingToReheat = true;
+                }
+                try {
+                    ovenLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (waitingToReheat) {
+                reheatsWaiting--;
+            }
+            baking++;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void leaveOven() {
+        synchronized (ovenLock) {
+            baking--;
+            ovenLock.notifyAll();
+        }
+    }
+
+    private void preheat(BakeJob job) {
+        long start = Metrics.start();
+        try (Span span = Tracer.startSpan("oven.preheat")) {
+            span.setAttribute("oven.temperature", job.temperature);
+            oven.preheat(job.temperature);
+        }
+        Metrics.record(LatencyStage.PREHEAT, OrderCodec.typeIdOf(job.pizza), -1, start);
+    }
+
+    private synchronized BakeJob takeNext() {
+        if (pending.isEmpty()) {
+            return null;
+        }
+        BakeJob job = pending.remove(pickNext());
+        for (BakeJob waiting : pending) {
+            if (waiting.sequence < job.sequence) {
+                waiting.bypassed++;
+            }
+        }
+        return job;
+    }
+
+    // Prefer jobs at the current temperature, but never let the oldest job
+    // be overtaken more than maxBypass times.
+    private int pickNext() {
+        BakeJob oldest = pending.get(0);
+        if (oldest.bypassed >= maxBypass) {
+            return 0;
+        }
+
+        int current = oven.getCurrentTemperature();
+        for (int i = 0; i < pending.size(); i++) {
+            if (pending.get(i).temperature == current) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static class BakeJob {
+        private final Pizza pizza;
+        private final int minutes;
+        private final int temperature;
+        private final long sequence;
+        private final CompletableFuture<Pizza> done = new CompletableFuture<>();
+        private int bypassed;
+
+        BakeJob(Pizza pizza, int minutes, int temperature, long sequence) {
+            this.pizza = pizza;
+            this.minutes = minutes;
+            this.temperature = temperature;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package domain.utilities;
+
+import domain.Pizza;
+import domain.order.OrderCodec;
+import domain.tracing.Span;
+import domain.tracing.Tracer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class KitchenPipeline {
+
+    public enum Stage {
+        PREPARE,
+        BAKE,
+        CUT,
+        BOX;
+
+        private final String spanName = "kitchen." + name().toLowerCase();
+    }
+
+    private final Oven oven;
+    private final List<BlockingQueue<Ticket>> queues = new ArrayList<>();
+    private final LongAdder[] processed = new LongAdder[Stage.values().length];
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final CountDownLatch drained = new CountDownLatch(1);
+
+    private volatile boolean running = true;
+
+    public KitchenPipeline(Oven oven, int queueCapacity, int... parallelism) {
+        if (parallelism.length != Stage.values().length) {
+            throw new IllegalArgumentException("Expected parallelism for " + Stage.values().length + " stages");
+        }
+        this.oven = oven;
+
+        for (Stage stage : Stage.values()) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+            processed[stage.ordinal()] = new LongAdder();
+        }
+
+        for (Stage stage : Stage.values()) {
+            for (int i = 0; i < parallelism[stage.ordinal()]; i++) {
+                Thread worker = new Thread(() -> work(stage), "kitchen-" + stage.name().toLowerCase() + "-" + i);
+                worker.setDaemon(true);
+                workers.add(worker);
+                worker.start();
+            }
+        }
+    }
+
+    // Counted in flight before the running check, so shutdown either sees
+    // this ticket or this call sees the shutdown.
+    public CompletableFuture<Pizza> submit(Pizza pizza, int minutes) {
+        inFlight.incrementAndGet();
+        if (!running) {
+            finish();
+            throw new IllegalStateException("Kitchen pipeline is shut down");
+        }
+        Ticket ticket = new Ticket(pizza, minutes, OrderCodec.bakeTemperatureOf(pizza));
+        try {
+            queues.get(Stage.PREPARE.ordinal()).put(ticket);
+        } catch (InterruptedException e) {
+            finish();
+            Thread.currentThread().interrupt();
+            ticket.done.completeExceptionally(e);
+        }
+        return ticket.done;
+    }
+
+    public int getQueueDepth(Stage stage) {
+        return queues.get(stage.ordinal()).size();
+    }
+
+    public long getProcessedCount(Stage stage) {
+        return processed[stage.ordinal()].sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (inFlight.get() > 0) {
+            drained.await();
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void work(Stage stage) {
+        BlockingQueue<Ticket> input = queues.get(stage.ordinal());
+        BlockingQueue<Ticket> output = stage.ordinal() + 1 < queues.size() ? queues.get(stage.ordinal() + 1) : null;
+
+        while (true) {
+            Ticket ticket;
+            try {
+                ticket = input.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            try (Span span = Tracer.startSpan(stage.spanName, ticket.trace)) {
+                span.setAttribute("kitchen.queue", input.size());
+                run(stage, ticket);
+                processed[stage.ordinal()].increment();
+                if (output != null) {
+                    output.put(ticket);
+                } else {
+                    ticket.done.complete(ticket.pizza);
+                    finish();
+                }
+            } catch (InterruptedException e) {
+                ticket.done.completeExceptionally(e);
+                finish();
+                return;
+            } catch (RuntimeException e) {
+                ticket.done.completeExceptionally(e);
+                finish();
+            }
+        }
+    }
+
+    private void finish() {
+        if (inFlight.decrementAndGet() == 0 && !running) {
+            drained.countDown();
+        }
+    }
+
+    private void run(Stage stage, Ticket ticket) {
+        switch (stage) {
+            case PREPARE: ticket.pizza.prepare(); break;
+            case BAKE: oven.cook(ticket.pizza, ticket.minutes, ticket.temperature); break;
+            case CUT: ticket.pizza.cut(); break;
+            case BOX: ticket.pizza.box(); break;
+        }
+    }
+
+    private static class Ticket {
+        private final Pizza pizza;
+        private final int minutes;
+        private final int temperature;
+        private final CompletableFuture<Pizza> done = new CompletableFuture<>();
+        private final Span trace = Tracer.currentSpan();
+
+        Ticket(Pizza pizza, int minutes, int temperature) {
+            this.pizza = pizza;
+            this.minutes = minutes;
+            this.temperature = temperature;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package domain.utilities;
 
+import domain.events.Events;
+
 public class LegacyOven {
 
     public void heatUp(int temp) {
-        System.out.println("[Legacy Oven] Heating up to " + temp + "°C");
+        Events.debug("Oven", "[Legacy Oven] Heating up to ", temp, "°C");
     }
 
     public void cook(int mins) {
-        System.out.println("[Legacy Oven] Cooking for " + mins + " minutes");
+        Events.debug("Oven", "[Legacy Oven] Cooking for ", mins, " minutes");
     }
 }
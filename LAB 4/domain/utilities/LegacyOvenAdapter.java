@@ -2,24 +2,62 @@ package domain.utilities;
 
 import domain.Pizza;
 
+import java.util.List;
+
 public class LegacyOvenAdapter implements Oven {
 
     private final LegacyOven legacy;
+    private final int capacity;
+    private int currentTemperature;
 
     public LegacyOvenAdapter(LegacyOven legacy) {
+        this(legacy, 1);
+    }
+
+    public LegacyOvenAdapter(LegacyOven legacy, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Oven capacity must be positive: " + capacity);
+        }
         this.legacy = legacy;
+        this.capacity = capacity;
     }
 
     @Override
-    public void preheat(int degrees) {
+    public synchronized void preheat(int degrees) {
+        if (degrees == currentTemperature) {
+            return;
+        }
         legacy.heatUp(degrees);
+        currentTemperature = degrees;
+    }
+
+    @Override
+    public synchronized int getCurrentTemperature() {
+        return currentTemperature;
     }
 
     @Override
-    public void bake(Pizza pizza, int minutes) {
-        pizza.prepare();
+    public void cook(Pizza pizza, int minutes) {
         legacy.cook(minutes);
-        pizza.cut();
-        pizza.box();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void bakeBatch(List<? extends Pizza> pizzas, int minutes) {
+        for (int from = 0; from < pizzas.size(); from += capacity) {
+            List<? extends Pizza> load = pizzas.subList(from, Math.min(from + capacity, pizzas.size()));
+            for (Pizza pizza : load) {
+                pizza.prepare();
+            }
+            legacy.cook(minutes);
+            for (Pizza pizza : load) {
+                pizza.cut();
+                pizza.box();
+            }
+        }
     }
 }
@@ -0,0 +1,133 @@
+package domain.utilities;
+
+import domain.Pizza;
+import domain.order.OrderCodec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class OrderCoalescer {
+
+    private final Oven oven;
+    private final long windowMillis;
+    private final ScheduledExecutorService timer;
+    private final Map<Long, Group> open = new HashMap<>();
+    // One group at a time between preheat and bakeBatch, so two groups
+    // never fight over the temperature. An oven with stations heats each
+    // station per load itself and takes groups concurrently.
+    private final Object bakeLock = new Object();
+
+    private long batches;
+    private long pizzas;
+
+    public OrderCoalescer(Oven oven, long windowMillis) {
+        this.oven = oven;
+        this.windowMillis = windowMillis;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<Pizza> submit(Pizza pizza, int minutes) {
+        int temperature = OrderCodec.bakeTemperatureOf(pizza);
+        long key = ((long) temperature << 32) | minutes;
+        CompletableFuture<Pizza> done = new CompletableFuture<>();
+        Group full = null;
+
+        synchronized (this) {
+            Group group = open.get(key);
+            if (group == null) {
+                group = new Group(temperature, minutes);
+                open.put(key, group);
+                Group scheduled = group;
+                timer.schedule(() -> flush(key, scheduled), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            group.pizzas.add(pizza);
+            group.futures.add(done);
+
+            if (group.pizzas.size() >= oven.getCapacity()) {
+                open.remove(key);
+                full = group;
+            }
+        }
+
+        if (full != null) {
+            bake(full);
+        }
+        return done;
+    }
+
+    public synchronized long getBatchCount() {
+        return batches;
+    }
+
+    public synchronized double getAverageBatchSize() {
+        return batches == 0 ? 0 : (double) pizzas / batches;
+    }
+
+    public void shutdown() {
+        List<Group> remaining;
+        synchronized (this) {
+            remaining = new ArrayList<>(open.values());
+            open.clear();
+        }
+        for (Group group : remaining) {
+            bake(group);
+        }
+        timer.shutdown();
+    }
+
+    private void flush(long key, Group group) {
+        synchronized (this) {
+            if (open.get(key) != group) {
+                return;
+            }
+            open.remove(key);
+        }
+        bake(group);
+    }
+
+    private void bake(Group group) {
+        try {
+            if (oven.hasStations()) {
+                oven.bakeBatch(group.pizzas, group.minutes);
+            } else {
+                synchronized (bakeLock) {
+                    oven.preheat(group.temperature);
+                    oven.bakeBatch(group.pizzas, group.minutes);
+                }
+            }
+            synchronized (this) {
+                batches++;
+                pizzas += group.pizzas.size();
+            }
+            for (int i = 0; i < group.pizzas.size(); i++) {
+                group.futures.get(i).complete(group.pizzas.get(i));
+            }
+        } catch (RuntimeException e) {
+            for (CompletableFuture<Pizza> future : group.futures) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class Group {
+        private final int temperature;
+        private final int minutes;
+        private final List<Pizza> pizzas = new ArrayList<>();
+        private final List<CompletableFuture<Pizza>> futures = new ArrayList<>();
+
+        Group(int temperature, int minutes) {
+            this.temperature = temperature;
+            this.minutes = minutes;
+        }
+    }
+}
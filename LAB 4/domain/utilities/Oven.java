@@ -2,7 +2,47 @@ package domain.utilities;
 
 import domain.Pizza;
 
+import java.util.List;
+
 public interface Oven {
     void preheat(int degrees);
-    void bake(Pizza pizza, int minutes);
+    int getCurrentTemperature();
+
+    // Only the time in the oven; callers that run their own prepare, cut and
+    // box steps, like KitchenPipeline, use this instead of bake.
+    void cook(Pizza pizza, int minutes);
+
+    default void bake(Pizza pizza, int minutes) {
+        pizza.prepare();
+        cook(pizza, minutes);
+        pizza.cut();
+        pizza.box();
+    }
+
+    default int getCapacity() {
+        return 1;
+    }
+
+    // An oven made of stations keeps one temperature per station and heats
+    // each station for the job it runs; callers pass the temperature along
+    // instead of preheating, and need not serialize bakes on it.
+    default boolean hasStations() {
+        return false;
+    }
+
+    default void bake(Pizza pizza, int minutes, int temperature) {
+        preheat(temperature);
+        bake(pizza, minutes);
+    }
+
+    default void cook(Pizza pizza, int minutes, int temperature) {
+        preheat(temperature);
+        cook(pizza, minutes);
+    }
+
+    default void bakeBatch(List<? extends Pizza> pizzas, int minutes) {
+        for (Pizza pizza : pizzas) {
+            bake(pizza, minutes);
+        }
+    }
 }
@@ -0,0 +1,306 @@
+package domain.utilities;
+
+import domain.Pizza;
+import domain.order.OrderCodec;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OvenPool implements Oven {
+
+    private final List<Station> stations = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+
+    private volatile boolean running = true;
+
+    public OvenPool(List<? extends Oven> ovens) {
+        if (ovens.isEmpty()) {
+            throw new IllegalArgumentException("Oven pool needs at least one oven");
+        }
+        for (int i = 0; i < ovens.size(); i++) {
+            Station station = new Station(ovens.get(i));
+            station.worker = new Thread(() -> work(station), "oven-" + i);
+            station.worker.setDaemon(true);
+            stations.add(station);
+        }
+        for (Station station : stations) {
+            station.worker.start();
+        }
+    }
+
+    // Brings every station to the temperature, waiting for a station that
+    // is mid-bake; its next job still heats it to whatever that job needs.
+    @Override
+    public void preheat(int degrees) {
+        for (Station station : stations) {
+            synchronized (station) {
+                station.oven.preheat(degrees);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasStations() {
+        return true;
+    }
+
+    @Override
+    public void bake(Pizza pizza, int minutes) {
+        bake(pizza, minutes, OrderCodec.bakeTemperatureOf(pizza));
+    }
+
+    @Override
+    public void bake(Pizza pizza, int minutes, int temperature) {
+        submit(new Job(pizza, null, minutes, temperature, false)).join();
+    }
+
+    @Override
+    public void cook(Pizza pizza, int minutes) {
+        cook(pizza, minutes, OrderCodec.bakeTemperatureOf(pizza));
+    }
+
+    @Override
+    public void cook(Pizza pizza, int minutes, int temperature) {
+        submit(new Job(pizza, null, minutes, temperature, true)).join();
+    }
+
+    // Each station takes a load of up to its own capacity in one bakeBatch
+    // call; loads are cut per temperature so a station never mixes them.
+    @Override
+    public void bakeBatch(List<? extends Pizza> pizzas, int minutes) {
+        if (!running) {
+            throw new IllegalStateException("Oven pool is shut down");
+        }
+        List<CompletableFuture<Pizza>> pending = new ArrayList<>();
+        int from = 0;
+        while (from < pizzas.size()) {
+            int temperature = OrderCodec.bakeTemperatureOf(pizzas.get(from));
+            int to = from + 1;
+            while (to < pizzas.size() && OrderCodec.bakeTemperatureOf(pizzas.get(to)) == temperature) {
+                to++;
+            }
+            while (from < to) {
+                Station station = choose(temperature);
+                int end = Math.min(to, from + station.oven.getCapacity());
+                Job job = new Job(null, pizzas.subList(from, end), minutes, temperature, false);
+                station.queue.offerLast(job);
+                pending.add(job.done);
+                from = end;
+            }
+        }
+        for (CompletableFuture<Pizza> future : pending) {
+            future.join();
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        int capacity = 0;
+        for (Station station : stations) {
+            capacity += station.oven.getCapacity();
+        }
+        return capacity;
+    }
+
+    // Stations run at their own temperatures; this is the one most of them
+    // are at, which is what a job is most likely to find.
+    @Override
+    public int getCurrentTemperature() {
+        int best = 0;
+        int bestCount = 0;
+        for (Station station : stations) {
+            int temperature = station.oven.getCurrentTemperature();
+            int count = 0;
+            for (Station other : stations) {
+                if (other.oven.getCurrentTemperature() == temperature) {
+                    count++;
+                }
+            }
+            if (count > bestCount) {
+                best = temperature;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    public int getCurrentTemperature(int oven) {
+        return stations.get(oven).oven.getCurrentTemperature();
+    }
+
+    public CompletableFuture<Pizza> submit(Pizza pizza, int minutes) {
+        return submit(new Job(pizza, null, minutes, OrderCodec.bakeTemperatureOf(pizza), false));
+    }
+
+    private CompletableFuture<Pizza> submit(Job job) {
+        if (!running) {
+            throw new IllegalStateException("Oven pool is shut down");
+        }
+        choose(job.temperature).queue.offerLast(job);
+        return job.done;
+    }
+
+    public int size() {
+        return stations.size();
+    }
+
+    public int getQueueDepth(int oven) {
+        return stations.get(oven).queue.size();
+    }
+
+    public long getBakeCount(int oven) {
+        return stations.get(oven).bakes.sum();
+    }
+
+    public long getStealCount(int oven) {
+        return stations.get(oven).steals.sum();
+    }
+
+    public double getUtilisation(int oven) {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed == 0 ? 0 : (double) stations.get(oven).busyNanos.sum() / elapsed;
+    }
+
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Station station : stations) {
+            station.worker.join();
+        }
+    }
+
+    // Shortest queue among ovens already at the right temperature, else shortest overall.
+    private Station choose(int temperature) {
+        Station best = null;
+        Station bestHot = null;
+        for (Station station : stations) {
+            int depth = station.queue.size();
+            if (best == null || depth < best.queue.size()) {
+                best = station;
+            }
+            if (station.oven.getCurrentTemperature() == temperature
+                    && (bestHot == null || depth < bestHot.queue.size())) {
+                bestHot = station;
+            }
+        }
+        return bestHot != null && bestHot.queue.size() <= best.queue.size() + 1 ? bestHot : best;
+    }
+
+    private void work(Station self) {
+        while (running || !allQueuesEmpty()) {
+            Job job = self.queue.pollFirst();
+            if (job == null) {
+                job = steal(self);
+                if (job != null) {
+                    self.steals.increment();
+                }
+            }
+            if (job == null) {
+                try {
+                    job = self.queue.pollFirst(1, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            if (job != null) {
+                run(self, job);
+            }
+        }
+    }
+
+    private Job steal(Station thief) {
+        int temperature = thief.oven.getCurrentTemperature();
+        Station victim = null;
+
+        for (Station station : stations) {
+            if (station == thief || station.queue.isEmpty()) {
+                continue;
+            }
+            Iterator<Job> it = station.queue.descendingIterator();
+            while (it.hasNext()) {
+                Job candidate = it.next();
+                if (candidate.temperature == temperature && station.queue.removeLastOccurrence(candidate)) {
+                    return candidate;
+                }
+            }
+            if (victim == null || station.queue.size() > victim.queue.size()) {
+                victim = station;
+            }
+        }
+        return victim == null ? null : victim.queue.pollLast();
+    }
+
+    private void run(Station station, Job job) {
+        long begin = System.nanoTime();
+        try {
+            synchronized (station) {
+                runOnStation(station, job);
+            }
+            job.done.complete(job.pizza);
+        } catch (RuntimeException e) {
+            job.done.completeExceptionally(e);
+        } finally {
+            station.busyNanos.add(System.nanoTime() - begin);
+        }
+    }
+
+    // Held under the station's lock, so a preheat of the whole pool never
+    // changes the temperature under a running job.
+    private void runOnStation(Station station, Job job) {
+        station.oven.preheat(job.temperature);
+        if (job.load != null) {
+            station.oven.bakeBatch(job.load, job.minutes);
+            station.bakes.add(job.load.size());
+        } else if (job.cookOnly) {
+            station.oven.cook(job.pizza, job.minutes);
+            station.bakes.increment();
+        } else {
+            station.oven.bake(job.pizza, job.minutes);
+            station.bakes.increment();
+        }
+    }
+
+    private boolean allQueuesEmpty() {
+        for (Station station : stations) {
+            if (!station.queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Station {
+        private final Oven oven;
+        private final LinkedBlockingDeque<Job> queue = new LinkedBlockingDeque<>();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder bakes = new LongAdder();
+        private final LongAdder steals = new LongAdder();
+        private Thread worker;
+
+        Station(Oven oven) {
+            this.oven = oven;
+        }
+    }
+
+    private static class Job {
+        private final Pizza pizza;
+        // A whole load from bakeBatch; null for a single submitted pizza.
+        private final List<? extends Pizza> load;
+        private final int minutes;
+        private final int temperature;
+        private final boolean cookOnly;
+        private final CompletableFuture<Pizza> done = new CompletableFuture<>();
+
+        Job(Pizza pizza, List<? extends Pizza> load, int minutes, int temperature, boolean cookOnly) {
+            this.pizza = pizza;
+            this.load = load;
+            this.minutes = minutes;
+            this.temperature = temperature;
+            this.cookOnly = cookOnly;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package domain.workload;
+
+import java.util.Random;
+
+// Gap between consecutive order arrivals. Implementations may keep state
+// (a burst phase, for instance), so use one instance per generated schedule.
+public interface ArrivalProcess {
+
+    long nextGapNanos(Random random);
+
+    double getMeanRate();
+
+    static ArrivalProcess poisson(double ordersPerSecond) {
+        return new PoissonArrivals(ordersPerSecond);
+    }
+
+    // Alternates between a quiet and a peak Poisson rate; burstFraction of
+    // every period runs at the peak rate.
+    static ArrivalProcess bursty(double quietPerSecond, double peakPerSecond,
+                                 long periodMillis, double burstFraction) {
+        return new BurstyArrivals(quietPerSecond, peakPerSecond, periodMillis, burstFraction);
+    }
+
+    static long exponentialNanos(Random random, double ratePerSecond) {
+        // 1 - nextDouble() is in (0, 1], so the log is always finite.
+        return (long) (-Math.log(1.0 - random.nextDouble()) / ratePerSecond * 1_000_000_000L);
+    }
+}
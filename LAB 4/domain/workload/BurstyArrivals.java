@@ -0,0 +1,53 @@
+package domain.workload;
+
+import java.util.Random;
+
+// Two-state modulated Poisson process on a fixed cycle: the first
+// burstFraction of each period arrives at the peak rate, the rest at the
+// quiet rate.
+public final class BurstyArrivals implements ArrivalProcess {
+
+    private final double quietRate;
+    private final double peakRate;
+    private final long periodNanos;
+    private final long burstNanos;
+    private long clock;
+
+    public BurstyArrivals(double quietPerSecond, double peakPerSecond, long periodMillis, double burstFraction) {
+        if (quietPerSecond <= 0 || peakPerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rates must be positive");
+        }
+        if (periodMillis <= 0 || burstFraction < 0 || burstFraction > 1) {
+            throw new IllegalArgumentException("Invalid burst period or fraction");
+        }
+        this.quietRate = quietPerSecond;
+        this.peakRate = peakPerSecond;
+        this.periodNanos = periodMillis * 1_000_000L;
+        this.burstNanos = (long) (periodNanos * burstFraction);
+    }
+
+    @Override
+    public long nextGapNanos(Random random) {
+        // Memorylessness lets us redraw at each phase boundary instead of
+        // carrying a partial gap across it.
+        long gap = 0;
+        while (true) {
+            long phase = clock % periodNanos;
+            boolean peak = phase < burstNanos;
+            long boundary = peak ? burstNanos - phase : periodNanos - phase;
+            long draw = ArrivalProcess.exponentialNanos(random, peak ? peakRate : quietRate);
+            if (draw < boundary) {
+                clock += draw;
+                return gap + draw;
+            }
+            clock += boundary;
+            gap += boundary;
+        }
+    }
+
+    @Override
+    public double getMeanRate() {
+        double burst = (double) burstNanos / periodNanos;
+        return peakRate * burst + quietRate * (1 - burst);
+    }
+}
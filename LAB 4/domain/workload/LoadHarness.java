@@ -0,0 +1,128 @@
+package domain.workload;
+
+import domain.command.OrderCommand;
+import domain.command.OrderInvoker;
+import domain.facade.PizzeriaFacade;
+import domain.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop driver: orders are released at their scheduled times whether or
+// not earlier ones have finished, and executed through the OrderInvoker on a
+// fixed pool of kitchen workers.
+public class LoadHarness {
+
+    private final OrderInvoker invoker;
+    private final PizzeriaFacade facade;
+    private final int workers;
+    private long drainTimeoutMillis = 10_000;
+
+    public LoadHarness(OrderInvoker invoker, PizzeriaFacade facade, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be at least 1: " + workers);
+        }
+        this.invoker = invoker;
+        this.facade = facade;
+        this.workers = workers;
+    }
+
+    public LoadHarness setDrainTimeoutMillis(long drainTimeoutMillis) {
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        return this;
+    }
+
+    public LoadReport run(List<OrderRequest> schedule) throws InterruptedException {
+        return run(schedule, 1.0);
+    }
+
+    // speed > 1 compresses the schedule, which is how a recorded trace is
+    // replayed at a multiple of its original rate.
+    public LoadReport run(List<OrderRequest> schedule, double speed) throws InterruptedException {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("Replay speed must be positive: " + speed);
+        }
+        int count = schedule.size();
+        OrderCommand[] commands = new OrderCommand[count];
+        long[] offsets = new long[count];
+        for (int i = 0; i < count; i++) {
+            commands[i] = schedule.get(i).toCommand(facade);
+            offsets[i] = (long) (schedule.get(i).getOffsetNanos() / speed);
+        }
+        double span = count == 0 ? 0 : Math.max(offsets[count - 1], 1) / 1e9;
+        double offeredRate = span == 0 ? 0 : count / span;
+
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong lastCompletion = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(count);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "load-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long begin = System.nanoTime();
+        try {
+            for (int i = 0; i < count; i++) {
+                long intended = begin + offsets[i];
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                OrderCommand command = commands[i];
+                pool.execute(() -> {
+                    try {
+                        invoker.execute(command);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    } finally {
+                        long now = System.nanoTime();
+                        synchronized (latency) {
+                            latency.record(now - intended);
+                        }
+                        lastCompletion.accumulateAndGet(now, Math::max);
+                        done.countDown();
+                    }
+                });
+            }
+            done.await(drainTimeoutMillis, TimeUnit.MILLISECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long completed = count - done.getCount();
+        long elapsed = Math.max(lastCompletion.get() - begin, 1);
+        synchronized (latency) {
+            return new LoadReport(offeredRate, count, completed - failed.get(), failed.get(), elapsed, latency);
+        }
+    }
+
+    // Steps the Poisson arrival rate up geometrically until the kitchen
+    // saturates, returning every step so the knee of the curve is visible.
+    public List<LoadReport> findSaturation(WorkloadGenerator generator, double startRate, double factor,
+                                           int maxSteps, long stepMillis, long p99ObjectiveNanos)
+            throws InterruptedException {
+        if (startRate <= 0 || factor <= 1) {
+            throw new IllegalArgumentException("Rate must be positive and factor greater than 1");
+        }
+        List<LoadReport> steps = new ArrayList<>();
+        double rate = startRate;
+        for (int step = 0; step < maxSteps; step++) {
+            LoadReport report = run(generator.arrivals(ArrivalProcess.poisson(rate)).generate(stepMillis));
+            steps.add(report);
+            if (report.isSaturated(p99ObjectiveNanos)) {
+                break;
+            }
+            rate *= factor;
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,90 @@
+package domain.workload;
+
+import domain.metrics.LatencyHistogram;
+
+import java.util.List;
+
+// Outcome of one open-loop run. Latency is measured from each order's
+// intended arrival time, so queueing behind a slow order is counted rather
+// than hidden (no coordinated omission).
+public final class LoadReport {
+
+    private final double offeredRate;
+    private final long scheduled;
+    private final long completed;
+    private final long failed;
+    private final long elapsedNanos;
+    private final LatencyHistogram latency;
+
+    LoadReport(double offeredRate, long scheduled, long completed, long failed,
+               long elapsedNanos, LatencyHistogram latency) {
+        this.offeredRate = offeredRate;
+        this.scheduled = scheduled;
+        this.completed = completed;
+        this.failed = failed;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+    }
+
+    public double getOfferedRate() {
+        return offeredRate;
+    }
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : completed * 1e9 / elapsedNanos;
+    }
+
+    public long getScheduled() {
+        return scheduled;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getLatencyNanos(double percentile) {
+        return latency.percentile(percentile);
+    }
+
+    public long getMaxLatencyNanos() {
+        return latency.getMax();
+    }
+
+    // Saturated when the kitchen keeps up with less than 95% of the offered
+    // load, drops orders, or blows the p99 latency objective.
+    public boolean isSaturated(long p99ObjectiveNanos) {
+        return completed < scheduled
+                || getThroughput() < offeredRate * 0.95
+                || getLatencyNanos(99) > p99ObjectiveNanos;
+    }
+
+    // Highest offered rate that was still sustained, or 0 if none was.
+    public static double saturationPoint(List<LoadReport> steps, long p99ObjectiveNanos) {
+        double sustained = 0;
+        for (LoadReport step : steps) {
+            if (step.isSaturated(p99ObjectiveNanos)) {
+                break;
+            }
+            sustained = step.getOfferedRate();
+        }
+        return sustained;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("offered %,10.0f/s | achieved %,10.0f/s | done %,d/%,d%s"
+                        + " | p50 %s | p90 %s | p99 %s | p99.9 %s | max %s",
+                offeredRate, getThroughput(), completed, scheduled,
+                failed == 0 ? "" : " (" + failed + " failed)",
+                micros(getLatencyNanos(50)), micros(getLatencyNanos(90)), micros(getLatencyNanos(99)),
+                micros(getLatencyNanos(99.9)), micros(getMaxLatencyNanos()));
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%,.1fus", nanos / 1000.0);
+    }
+}
@@ -0,0 +1,111 @@
+package domain.workload;
+
+import domain.command.CustomOrderCommand;
+import domain.command.OrderCommand;
+import domain.command.SimpleOrderCommand;
+import domain.command.ToppingsOrderCommand;
+import domain.facade.PizzeriaFacade;
+
+import java.util.Collections;
+import java.util.List;
+
+// One scheduled order: what to ask the facade for and when, relative to the
+// start of the run.
+public final class OrderRequest {
+
+    public enum Kind {
+        SIMPLE,
+        TOPPINGS,
+        CUSTOM
+    }
+
+    private final long offsetNanos;
+    private final Kind kind;
+    private final String type;
+    private final List<String> toppings;
+    private final String size;
+    private final String crust;
+    private final boolean cheese;
+    private final boolean pepperoni;
+    private final boolean mushrooms;
+
+    private OrderRequest(long offsetNanos, Kind kind, String type, List<String> toppings,
+                         String size, String crust, boolean cheese, boolean pepperoni, boolean mushrooms) {
+        this.offsetNanos = offsetNanos;
+        this.kind = kind;
+        this.type = type;
+        this.toppings = toppings;
+        this.size = size;
+        this.crust = crust;
+        this.cheese = cheese;
+        this.pepperoni = pepperoni;
+        this.mushrooms = mushrooms;
+    }
+
+    public static OrderRequest simple(long offsetNanos, String type) {
+        return new OrderRequest(offsetNanos, Kind.SIMPLE, type, Collections.emptyList(),
+                null, null, false, false, false);
+    }
+
+    public static OrderRequest withToppings(long offsetNanos, String type, List<String> toppings) {
+        return new OrderRequest(offsetNanos, Kind.TOPPINGS, type, List.copyOf(toppings),
+                null, null, false, false, false);
+    }
+
+    public static OrderRequest custom(long offsetNanos, String size, String crust,
+                                      boolean cheese, boolean pepperoni, boolean mushrooms) {
+        return new OrderRequest(offsetNanos, Kind.CUSTOM, null, Collections.emptyList(),
+                size, crust, cheese, pepperoni, mushrooms);
+    }
+
+    public OrderCommand toCommand(PizzeriaFacade facade) {
+        switch (kind) {
+            case SIMPLE:
+                return new SimpleOrderCommand(facade, type);
+            case TOPPINGS:
+                return new ToppingsOrderCommand(facade, type, toppings);
+            default:
+                return new CustomOrderCommand(facade, size, crust, cheese, pepperoni, mushrooms);
+        }
+    }
+
+    public OrderRequest atOffset(long nanos) {
+        return new OrderRequest(nanos, kind, type, toppings, size, crust, cheese, pepperoni, mushrooms);
+    }
+
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public List<String> getToppings() {
+        return toppings;
+    }
+
+    public String getSize() {
+        return size;
+    }
+
+    public String getCrust() {
+        return crust;
+    }
+
+    public boolean hasCheese() {
+        return cheese;
+    }
+
+    public boolean hasPepperoni() {
+        return pepperoni;
+    }
+
+    public boolean hasMushrooms() {
+        return mushrooms;
+    }
+}
@@ -0,0 +1,139 @@
+package domain.workload;
+
+import domain.builder.CustomPizza;
+import domain.factory.MenuRegistry;
+import domain.factory.PizzaFactory;
+import domain.order.OrderCodec;
+import domain.order.OrderCursor;
+import domain.order.PizzaType;
+import domain.order.Topping;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Recorded schedules, one order per line:
+//   offsetMicros,KIND,type,topping;topping,size,crust,cheese,pepperoni,mushrooms
+// Unused columns stay empty.
+public final class OrderTrace {
+
+    private static final String HEADER = "# offsetMicros,kind,type,toppings,size,crust,cheese,pepperoni,mushrooms";
+
+    private OrderTrace() {
+    }
+
+    public static void write(Path file, List<OrderRequest> schedule) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.newLine();
+            for (OrderRequest request : schedule) {
+                out.write(Long.toString(request.getOffsetNanos() / 1000));
+                out.write(',');
+                out.write(request.getKind().name());
+                out.write(',');
+                out.write(request.getType() == null ? "" : request.getType());
+                out.write(',');
+                out.write(String.join(";", request.getToppings()));
+                out.write(',');
+                out.write(request.getSize() == null ? "" : request.getSize());
+                out.write(',');
+                out.write(request.getCrust() == null ? "" : request.getCrust());
+                out.write(',');
+                out.write(request.hasCheese() ? "1" : "0");
+                out.write(',');
+                out.write(request.hasPepperoni() ? "1" : "0");
+                out.write(',');
+                out.write(request.hasMushrooms() ? "1" : "0");
+                out.newLine();
+            }
+        }
+    }
+
+    public static List<OrderRequest> read(Path file) throws IOException {
+        List<OrderRequest> schedule = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                if (fields.length != 9) {
+                    throw new IOException(file + ":" + lineNumber + ": expected 9 fields, found " + fields.length);
+                }
+                long offset = Long.parseLong(fields[0].trim()) * 1000;
+                OrderRequest.Kind kind;
+                try {
+                    kind = OrderRequest.Kind.valueOf(fields[1].trim());
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(file + ":" + lineNumber + ": unknown order kind " + fields[1]);
+                }
+                switch (kind) {
+                    case SIMPLE:
+                        schedule.add(OrderRequest.simple(offset, fields[2]));
+                        break;
+                    case TOPPINGS:
+                        List<String> toppings = fields[3].isEmpty()
+                                ? Collections.emptyList()
+                                : Arrays.asList(fields[3].split(";"));
+                        schedule.add(OrderRequest.withToppings(offset, fields[2], toppings));
+                        break;
+                    default:
+                        schedule.add(OrderRequest.custom(offset, fields[4], fields[5],
+                                "1".equals(fields[6]), "1".equals(fields[7]), "1".equals(fields[8])));
+                        break;
+                }
+            }
+        }
+        schedule.sort((a, b) -> Long.compare(a.getOffsetNanos(), b.getOffsetNanos()));
+        return schedule;
+    }
+
+    // Rebuilds a schedule from orders the pizzeria has already taken, keeping
+    // their relative timing. The order store does not keep custom size or
+    // crust, so those replay as Medium/Regular.
+    public static List<OrderRequest> capture(OrderCursor cursor) {
+        MenuRegistry menu = PizzaFactory.getMenu();
+        List<OrderRequest> schedule = new ArrayList<>();
+        long first = Long.MAX_VALUE;
+        while (cursor.next()) {
+            first = Math.min(first, cursor.timestamp());
+            long offset = cursor.timestamp() * 1_000_000L;
+            PizzaType type = cursor.type();
+            String typeName = OrderCodec.typeName(cursor.typeId());
+            int mask = cursor.toppingMask();
+
+            if (type == PizzaType.CUSTOM) {
+                schedule.add(OrderRequest.custom(offset,
+                        CustomPizza.Size.MEDIUM.name(), CustomPizza.Crust.REGULAR.name(),
+                        (mask & Topping.CHEESE.mask()) != 0,
+                        (mask & Topping.PEPPERONI.mask()) != 0,
+                        (mask & Topping.MUSHROOMS.mask()) != 0));
+            } else if (mask == 0) {
+                schedule.add(OrderRequest.simple(offset, typeName));
+            } else {
+                List<String> toppings = new ArrayList<>();
+                for (Topping topping : Topping.values()) {
+                    String name = menu.toppingName(topping);
+                    if ((mask & topping.mask()) != 0 && name != null) {
+                        toppings.add(name);
+                    }
+                }
+                schedule.add(OrderRequest.withToppings(offset, typeName, toppings));
+            }
+        }
+        long base = first * 1_000_000L;
+        schedule.replaceAll(request -> request.atOffset(request.getOffsetNanos() - base));
+        schedule.sort((a, b) -> Long.compare(a.getOffsetNanos(), b.getOffsetNanos()));
+        return schedule;
+    }
+}
@@ -0,0 +1,25 @@
+package domain.workload;
+
+import java.util.Random;
+
+public final class PoissonArrivals implements ArrivalProcess {
+
+    private final double ratePerSecond;
+
+    public PoissonArrivals(double ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + ratePerSecond);
+        }
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    @Override
+    public long nextGapNanos(Random random) {
+        return ArrivalProcess.exponentialNanos(random, ratePerSecond);
+    }
+
+    @Override
+    public double getMeanRate() {
+        return ratePerSecond;
+    }
+}
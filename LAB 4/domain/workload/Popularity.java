@@ -0,0 +1,68 @@
+package domain.workload;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+// Weighted choice over a fixed set of names, by binary search over the
+// cumulative weights.
+public final class Popularity {
+
+    private final String[] names;
+    private final double[] cumulative;
+
+    public Popularity(Map<String, Double> weights) {
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Popularity needs at least one entry");
+        }
+        this.names = new String[weights.size()];
+        this.cumulative = new double[weights.size()];
+
+        double total = 0;
+        int i = 0;
+        for (Map.Entry<String, Double> entry : weights.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Negative weight for " + entry.getKey());
+            }
+            total += entry.getValue();
+            names[i] = entry.getKey();
+            cumulative[i++] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Popularity weights sum to zero");
+        }
+        for (int j = 0; j < cumulative.length; j++) {
+            cumulative[j] /= total;
+        }
+    }
+
+    public static Popularity uniform(String... names) {
+        return zipf(0, names);
+    }
+
+    // Rank k (from 1) gets weight 1 / k^exponent; names are listed most popular first.
+    public static Popularity zipf(double exponent, String... names) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (int k = 0; k < names.length; k++) {
+            weights.put(names[k], 1.0 / Math.pow(k + 1, exponent));
+        }
+        return new Popularity(weights);
+    }
+
+    public String next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return names[Math.min(index, names.length - 1)];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String get(int index) {
+        return names[index];
+    }
+}
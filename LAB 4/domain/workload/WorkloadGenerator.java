@@ -0,0 +1,108 @@
+package domain.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Produces a reproducible order schedule from an arrival process and a
+// popularity model. The defaults resemble a weekend evening: mostly simple
+// Margheritas, a third of orders with toppings, one in ten custom.
+public class WorkloadGenerator {
+
+    private final Random random;
+    private ArrivalProcess arrivals = ArrivalProcess.poisson(100);
+    private double simpleShare = 0.55;
+    private double toppingsShare = 0.35;
+    private Popularity pizzas = Popularity.zipf(1.0, "Margherita", "Rancho", "Barbeque");
+    private Popularity toppings = Popularity.zipf(0.8, "cheese", "olives", "stuffed");
+    private int maxToppings = 2;
+    private Popularity sizes = Popularity.zipf(0.7, "Medium", "Large", "Small");
+    private Popularity crusts = Popularity.zipf(0.9, "Regular", "Thin", "Thick", "Stuffed");
+    private double customToppingChance = 0.4;
+
+    public WorkloadGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public WorkloadGenerator arrivals(ArrivalProcess arrivals) {
+        this.arrivals = arrivals;
+        return this;
+    }
+
+    // Shares are normalised, so (6, 3, 1) and (0.6, 0.3, 0.1) are the same mix.
+    public WorkloadGenerator mix(double simple, double withToppings, double custom) {
+        double total = simple + withToppings + custom;
+        if (simple < 0 || withToppings < 0 || custom < 0 || total <= 0) {
+            throw new IllegalArgumentException("Invalid order mix");
+        }
+        this.simpleShare = simple / total;
+        this.toppingsShare = withToppings / total;
+        return this;
+    }
+
+    public WorkloadGenerator pizzas(Popularity pizzas) {
+        this.pizzas = pizzas;
+        return this;
+    }
+
+    public WorkloadGenerator toppings(Popularity toppings, int maxToppings) {
+        if (maxToppings < 1) {
+            throw new IllegalArgumentException("Max toppings must be at least 1: " + maxToppings);
+        }
+        this.toppings = toppings;
+        this.maxToppings = maxToppings;
+        return this;
+    }
+
+    public WorkloadGenerator custom(Popularity sizes, Popularity crusts, double toppingChance) {
+        this.sizes = sizes;
+        this.crusts = crusts;
+        this.customToppingChance = toppingChance;
+        return this;
+    }
+
+    public ArrivalProcess getArrivals() {
+        return arrivals;
+    }
+
+    public List<OrderRequest> generate(long durationMillis) {
+        long end = durationMillis * 1_000_000L;
+        List<OrderRequest> schedule = new ArrayList<>((int) Math.min(Integer.MAX_VALUE / 2,
+                (long) (arrivals.getMeanRate() * durationMillis / 1000.0) + 16));
+
+        long offset = arrivals.nextGapNanos(random);
+        while (offset < end) {
+            schedule.add(next(offset));
+            offset += arrivals.nextGapNanos(random);
+        }
+        return schedule;
+    }
+
+    private OrderRequest next(long offset) {
+        double pick = random.nextDouble();
+        if (pick < simpleShare) {
+            return OrderRequest.simple(offset, pizzas.next(random));
+        }
+        if (pick < simpleShare + toppingsShare) {
+            return OrderRequest.withToppings(offset, pizzas.next(random), pickToppings());
+        }
+        return OrderRequest.custom(offset, sizes.next(random), crusts.next(random),
+                random.nextDouble() < customToppingChance,
+                random.nextDouble() < customToppingChance,
+                random.nextDouble() < customToppingChance);
+    }
+
+    private List<String> pickToppings() {
+        int count = 1 + random.nextInt(Math.min(maxToppings, toppings.size()));
+        List<String> chosen = new ArrayList<>(count);
+        // Popular toppings repeat often; a bounded number of redraws keeps
+        // this cheap and only occasionally yields fewer than requested.
+        for (int attempt = 0; chosen.size() < count && attempt < count * 4; attempt++) {
+            String topping = toppings.next(random);
+            if (!chosen.contains(topping)) {
+                chosen.add(topping);
+            }
+        }
+        return chosen;
+    }
+}
@@ -0,0 +1,158 @@
+package domain.observer;
+
+import domain.Margherita;
+import domain.events.Events;
+import domain.order.OrderEvent;
+import domain.singleton.OrderManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderBatcherTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int ORDERS_PER_PRODUCER = 20_000;
+
+    @BeforeAll
+    static void silence() {
+        Events.disable();
+    }
+
+    // Many producers filling a small buffer at once: every order must be
+    // delivered exactly once, no batch may exceed the bound, and no producer
+    // may see the buffer overflow.
+    @Test
+    void concurrentProducersNeverOverflowTheBuffer() throws InterruptedException {
+        int maxBatchSize = 4;
+        CountingTarget target = new CountingTarget();
+        OrderBatcher batcher = new OrderBatcher(target, maxBatchSize, 1_000);
+
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            producers[p] = new Thread(() -> {
+                OrderEvent event = new OrderEvent();
+                try {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_PRODUCER; i++) {
+                        event.set((long) producer * ORDERS_PER_PRODUCER + i, 0, 0, 0, 0);
+                        batcher.onOrder(event);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            producers[p].start();
+        }
+
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        batcher.shutdown();
+
+        assertTrue(failures.isEmpty(), () -> "Producer failed: " + failures.peek());
+        assertEquals((long) PRODUCERS * ORDERS_PER_PRODUCER, target.orders.get());
+        assertEquals(expectedIdSum(), target.idSum.get());
+        assertTrue(target.largestBatch.get() <= maxBatchSize, "Batch of " + target.largestBatch.get());
+    }
+
+    // An observer that places orders while a batch is being delivered: the
+    // new orders fill and flush other buffers, and must neither be cleared
+    // nor overwrite the batch still in the observer's hands.
+    @Test
+    void ordersPlacedDuringDeliveryAreDeliveredOnce() {
+        int maxBatchSize = 2;
+        List<Long> delivered = new ArrayList<>();
+        OrderBatcher[] batcher = new OrderBatcher[1];
+        batcher[0] = new OrderBatcher(new BatchOrderObserver() {
+            @Override
+            public void onOrders(List<OrderEvent> events) {
+                List<Long> ids = new ArrayList<>();
+                for (OrderEvent event : events) {
+                    ids.add(event.getOrderId());
+                }
+                OrderEvent followUp = new OrderEvent();
+                for (long id : ids) {
+                    if (id < 10) {
+                        for (int i = 1; i <= 3; i++) {
+                            batcher[0].onOrder(followUp.set(id * 10 + i, 0, 0, 0, 0));
+                        }
+                    }
+                }
+                // The batch must be intact after the follow-ups went out.
+                for (int i = 0; i < events.size(); i++) {
+                    assertEquals(ids.get(i), events.get(i).getOrderId());
+                }
+                delivered.addAll(ids);
+            }
+
+            @Override
+            public void onOrdersAdded(List<String> orderNames) {
+            }
+        }, maxBatchSize, 1_000);
+
+        OrderEvent event = new OrderEvent();
+        batcher[0].onOrder(event.set(1, 0, 0, 0, 0));
+        batcher[0].onOrder(event.set(2, 0, 0, 0, 0));
+        batcher[0].shutdown();
+
+        assertEquals(List.of(1L, 2L, 11L, 12L, 13L, 21L, 22L, 23L), delivered);
+    }
+
+    // A shut-down batcher leaves the manager, and orders keep going in.
+    @Test
+    void shutdownUnsubscribesFromTheManager() {
+        CountingTarget target = new CountingTarget();
+        OrderManager manager = OrderManager.getInstance();
+        OrderBatcher batcher = manager.addBatchObserver(target, 4, 1_000);
+
+        manager.addOrder(new Margherita());
+        batcher.shutdown();
+        assertEquals(1, target.orders.get());
+
+        assertDoesNotThrow(() -> manager.addOrder(new Margherita()));
+        assertFalse(manager.removeObserver(batcher));
+        batcher.onOrder(new OrderEvent());
+        batcher.flush();
+        assertEquals(1, target.orders.get());
+    }
+
+    private static long expectedIdSum() {
+        long total = (long) PRODUCERS * ORDERS_PER_PRODUCER;
+        return total * (total - 1) / 2;
+    }
+
+    private static final class CountingTarget implements BatchOrderObserver {
+        private final AtomicLong orders = new AtomicLong();
+        private final AtomicLong idSum = new AtomicLong();
+        private final AtomicInteger largestBatch = new AtomicInteger();
+
+        @Override
+        public void onOrders(List<OrderEvent> events) {
+            largestBatch.accumulateAndGet(events.size(), Math::max);
+            for (OrderEvent event : events) {
+                idSum.addAndGet(event.getOrderId());
+            }
+            orders.addAndGet(events.size());
+        }
+
+        @Override
+        public void onOrdersAdded(List<String> orderNames) {
+            orders.addAndGet(orderNames.size());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package domain.order;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderJournalTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int ORDERS_PER_PRODUCER = 5_000;
+    private static final int RECORDS_PER_SEGMENT = 1_000;
+    private static final int RETENTION = 1_000_000;
+
+    // Producers number and journal orders the way OrderManager does: the id
+    // comes from the store, the record is written afterwards, so records
+    // reach the journal out of id order. Recovery must still restore them all.
+    @Test
+    void recoversOrdersJournalledByConcurrentProducers(@TempDir Path directory) throws Exception {
+        OrderStore store = new OrderStore(RETENTION);
+        OrderJournal journal = open(directory, store);
+
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            producers[p] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_PRODUCER; i++) {
+                        long timestamp = (long) producer * ORDERS_PER_PRODUCER + i;
+                        int typeId = producer % 4;
+                        int toppingMask = i & 7;
+                        long orderId = store.append(typeId, toppingMask, timestamp, 0);
+                        journal.append(orderId, typeId, toppingMask, timestamp, 0);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            producers[p].start();
+        }
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        journal.close();
+        assertTrue(failures.isEmpty(), () -> "Producer failed: " + failures.peek());
+
+        OrderStore recovered = new OrderStore(RETENTION);
+        open(directory, recovered).close();
+
+        int total = PRODUCERS * ORDERS_PER_PRODUCER;
+        assertEquals(total, recovered.size());
+        BitSet timestamps = new BitSet(total);
+        long[] expectedId = {0};
+        recovered.forEach((orderId, typeId, toppingMask, timestamp, modeId) -> {
+            assertEquals(expectedId[0]++, orderId);
+            assertEquals(timestamp / ORDERS_PER_PRODUCER % 4, typeId);
+            assertEquals(timestamp % ORDERS_PER_PRODUCER & 7, toppingMask);
+            timestamps.set((int) timestamp);
+        });
+        assertEquals(total, timestamps.cardinality());
+        assertEquals(total, recovered.append(0, 0, 0, 0));
+    }
+
+    // An id that was handed out but never journalled, e.g. by a crash between
+    // the two steps, leaves a hole that recovery skips over.
+    @Test
+    void skipsIdsThatWereNeverJournalled(@TempDir Path directory) throws Exception {
+        OrderStore store = new OrderStore(RETENTION);
+        OrderJournal journal = open(directory, store);
+        for (int i = 0; i < 5; i++) {
+            long orderId = store.append(PizzaType.RANCHO.id(), 0, i, 0);
+            if (orderId != 2) {
+                journal.append(orderId, PizzaType.RANCHO.id(), 0, i, 0);
+            }
+        }
+        journal.close();
+
+        OrderStore recovered = new OrderStore(RETENTION);
+        open(directory, recovered).close();
+
+        StringBuilder ids = new StringBuilder();
+        recovered.forEach((orderId, typeId, toppingMask, timestamp, modeId) -> ids.append(orderId).append(' '));
+        assertEquals("0 1 3 4 ", ids.toString());
+        assertEquals(4, recovered.query(OrderQuery.create().type(PizzaType.RANCHO)).count());
+        assertEquals(5, recovered.append(0, 0, 0, 0));
+    }
+
+    // Menu type ids depend on the order names are first seen in, so a journal
+    // written by another process must be read back by name, not by id.
+    @Test
+    void recoversMenuTypesWrittenByAnotherProcess(@TempDir Path directory) throws Exception {
+        Process writer = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                MenuOrderWriter.class.getName(), directory.toString())
+                .inheritIO()
+                .start();
+        assertEquals(0, writer.waitFor());
+
+        // Seen in the opposite order here, so the ids differ from the writer's.
+        OrderCodec.typeIdForName("journal-test-diavola");
+        OrderCodec.typeIdForName("journal-test-calzone");
+
+        OrderStore recovered = new OrderStore(RETENTION);
+        open(directory, recovered).close();
+
+        StringBuilder names = new StringBuilder();
+        recovered.forEach((orderId, typeId, toppingMask, timestamp, modeId) ->
+                names.append(OrderCodec.typeName(typeId)).append(' '));
+        assertEquals("journal-test-calzone journal-test-diavola Rancho journal-test-calzone ", names.toString());
+    }
+
+    static final class MenuOrderWriter {
+        public static void main(String[] args) throws Exception {
+            int calzone = OrderCodec.typeIdForName("journal-test-calzone");
+            int diavola = OrderCodec.typeIdForName("journal-test-diavola");
+            OrderStore store = new OrderStore(RETENTION);
+            OrderJournal journal = open(Path.of(args[0]), store);
+            for (int typeId : new int[] {calzone, diavola, PizzaType.RANCHO.id(), calzone}) {
+                long orderId = store.append(typeId, 0, 0, 0);
+                journal.append(orderId, typeId, 0, 0, 0);
+            }
+            journal.close();
+        }
+    }
+
+    private static OrderJournal open(Path directory, OrderStore store) throws Exception {
+        return new OrderJournal(directory, RECORDS_PER_SEGMENT, OrderJournal.Durability.BATCHED, 5,
+                store::restore);
+    }
+}